@@ -0,0 +1,141 @@
+import ships.bench.ModelHarness;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Observer;
+import java.util.SplittableRandom;
+
+/**
+ * Drives GameModel for the JMH benchmarks in ships.bench. Target cells for each
+ * volley are worked out during preparation so the measured methods only fire.
+ */
+public class GameModelHarness implements ModelHarness {
+    private static final GameRules RULES = GameRules.STANDARD;
+
+    private GameModel model;
+    private SplittableRandom random;
+    private ProbabilityShotStrategy solver;
+    private String layoutFile;
+    private final int[] waterCells = new int[RULES.getCellCount() - RULES.getTotalShipSquares()];
+    private final int[] hitCells = new int[RULES.getTotalShipSquares() - RULES.getFleetSize()];
+    private final int[] sinkingCells = new int[RULES.getFleetSize()];
+
+    @Override
+    public void setUp(String attached, long seed) {
+        random = new SplittableRandom(seed);
+        model = new GameModel(RULES, random);
+        model.setValidationMode(ValidationMode.OFF);
+        if (OBSERVER.equals(attached)) {
+            Observer observer = (o, arg) -> { };
+            model.addObserver(observer);
+        } else if (LISTENER.equals(attached)) {
+            model.addListener(new GameModelListener() {
+                @Override
+                public void cellChanged(GameModel m, int cell, int oldState, int newState, int sunkShip) {
+                }
+
+                @Override
+                public void boardReset(GameModel m) {
+                }
+            });
+        } else if (!NONE.equals(attached)) {
+            throw new IllegalArgumentException("Unknown listener setup: " + attached);
+        }
+        solver = new ProbabilityShotStrategy(RULES);
+        try {
+            File file = File.createTempFile("ships-bench", ".txt");
+            file.deleteOnExit();
+            try (FileWriter writer = new FileWriter(file)) {
+                writer.write("A1,5,H\nC3,4,V\nE5,3,H\nG7,2,V\nI9,2,H\n");
+            }
+            layoutFile = file.getPath();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write benchmark layout file", e);
+        }
+        prepareFreshBoard();
+    }
+
+    @Override
+    public void prepareFreshBoard() {
+        model.initializeGame();
+        int water = 0;
+        for (int cell = 0; cell < RULES.getCellCount(); cell++) {
+            if (model.getCellState(cell) == GameModel.WATER) {
+                waterCells[water++] = cell;
+            }
+        }
+        int hit = 0;
+        int ship = 0;
+        for (Ship s : model.getShips()) {
+            int stride = s.isHorizontal() ? 1 : RULES.getCols();
+            int cell = RULES.cellOf(s.getStartRow(), s.getStartCol());
+            for (int i = 0; i < s.getLength() - 1; i++, cell += stride) {
+                hitCells[hit++] = cell;
+            }
+            sinkingCells[ship++] = cell;
+        }
+    }
+
+    @Override
+    public void prepareDamagedBoard() {
+        prepareFreshBoard();
+        for (int cell : hitCells) {
+            model.processGuess(cell);
+        }
+    }
+
+    @Override
+    public int fireMisses() {
+        int hits = 0;
+        for (int cell : waterCells) {
+            if (model.processGuess(cell)) hits++;
+        }
+        return hits;
+    }
+
+    @Override
+    public int fireHits() {
+        int hits = 0;
+        for (int cell : hitCells) {
+            if (model.processGuess(cell)) hits++;
+        }
+        return hits;
+    }
+
+    @Override
+    public int fireSinkingHits() {
+        int hits = 0;
+        for (int cell : sinkingCells) {
+            if (model.processGuess(cell)) hits++;
+        }
+        return hits;
+    }
+
+    @Override
+    public boolean fireRepeat() {
+        model.processGuess(waterCells[0]);
+        return model.processGuess(waterCells[0]);
+    }
+
+    @Override
+    public void initializeGame() {
+        model.initializeGame();
+    }
+
+    @Override
+    public void loadShipsFromFile() {
+        model.loadShipsFromFile(layoutFile);
+    }
+
+    @Override
+    public boolean isGameOver() {
+        return model.isGameOver();
+    }
+
+    @Override
+    public int playFullGame() {
+        model.initializeGame();
+        return SimulationRunner.playGame(model, solver);
+    }
+}
@@ -0,0 +1,34 @@
+import ships.bench.RaidHarness;
+
+import java.util.SplittableRandom;
+
+/**
+ * Drives RaidBoard for the raid benchmarks in ships.bench.
+ */
+public class RaidBoardHarness implements RaidHarness {
+    private RaidBoard board;
+
+    @Override
+    public void setUp(int size, int ships, long seed) {
+        int[] fleet = new int[ships];
+        for (int i = 0; i < ships; i++) {
+            fleet[i] = 2 + i % 4;
+        }
+        board = RaidBoard.random(new GameRules(size, size, fleet), new SplittableRandom(seed));
+    }
+
+    @Override
+    public void reset() {
+        board.reset();
+    }
+
+    @Override
+    public int getCellCount() {
+        return board.getRules().getCellCount();
+    }
+
+    @Override
+    public int fire(int cell) {
+        return board.fire(cell);
+    }
+}
@@ -0,0 +1,107 @@
+package ships.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot paths of GameModel, each run with nothing, a no-op Observer, or a no-op
+ * GameModelListener attached. Shot benchmarks fire a whole volley per invocation
+ * on a board prepared outside the measurement and report the time per shot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Dships.validation=off")
+public class GameModelBenchmark {
+
+    private static final long SEED = 20240601L;
+
+    @State(Scope.Thread)
+    public static class Board {
+        @Param({ModelHarness.NONE, ModelHarness.OBSERVER, ModelHarness.LISTENER})
+        public String attached;
+
+        ModelHarness harness;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            harness = ModelHarness.create();
+            harness.setUp(attached, SEED);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class FreshBoard extends Board {
+        @Setup(Level.Invocation)
+        public void reset() {
+            harness.prepareFreshBoard();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class DamagedBoard extends Board {
+        @Setup(Level.Invocation)
+        public void reset() {
+            harness.prepareDamagedBoard();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(84)
+    public int processGuessMiss(FreshBoard board) {
+        return board.harness.fireMisses();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(11)
+    public int processGuessHit(FreshBoard board) {
+        return board.harness.fireHits();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(5)
+    public int processGuessSinkingHit(DamagedBoard board) {
+        return board.harness.fireSinkingHits();
+    }
+
+    @Benchmark
+    public boolean processGuessRepeated(Board board) {
+        return board.harness.fireRepeat();
+    }
+
+    @Benchmark
+    public void initializeGame(Board board) {
+        board.harness.initializeGame();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void loadShipsFromFile(Board board) {
+        board.harness.loadShipsFromFile();
+    }
+
+    @Benchmark
+    public boolean isGameOver(Board board) {
+        return board.harness.isGameOver();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int fullGame(Board board) {
+        return board.harness.playFullGame();
+    }
+}
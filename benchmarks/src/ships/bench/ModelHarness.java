@@ -0,0 +1,57 @@
+package ships.bench;
+
+/**
+ * The game classes live in the unnamed package, which JMH refuses to generate
+ * benchmarks for and which named packages cannot import. GameModelHarness sits in
+ * the unnamed package, implements this interface, and is loaded by name; with a
+ * single implementation the JIT inlines every call, so the bridge costs nothing
+ * measurable.
+ */
+public interface ModelHarness {
+
+    /** Observer/listener setups the benchmarks are run with. */
+    String NONE = "none", OBSERVER = "observer", LISTENER = "listener";
+
+    /**
+     * @param attached One of NONE, OBSERVER or LISTENER
+     * @param seed Seed for ship placement
+     */
+    void setUp(String attached, long seed);
+
+    /** Places a new random fleet with nothing fired at yet. */
+    void prepareFreshBoard();
+
+    /** Places a new random fleet and hits every ship cell except the last of each ship. */
+    void prepareDamagedBoard();
+
+    /** Fires at every water cell (84 shots on a fresh board). */
+    int fireMisses();
+
+    /** Fires at every ship cell except the last of each ship (11 shots on a fresh board). */
+    int fireHits();
+
+    /** Fires the last cell of each ship (5 sinking shots on a damaged board). */
+    int fireSinkingHits();
+
+    /** Fires at a cell that has already been fired at. */
+    boolean fireRepeat();
+
+    /** Clears the board and places a new random fleet. */
+    void initializeGame();
+
+    /** Loads a fixed layout from a file written during setup. */
+    void loadShipsFromFile();
+
+    boolean isGameOver();
+
+    /** Sets up a new random fleet and plays it to the end with the probability solver. */
+    int playFullGame();
+
+    static ModelHarness create() {
+        try {
+            return (ModelHarness) Class.forName("GameModelHarness").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("GameModelHarness is not on the classpath", e);
+        }
+    }
+}
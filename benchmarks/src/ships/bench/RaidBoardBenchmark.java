@@ -0,0 +1,69 @@
+package ships.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many players firing at one shared RaidBoard. Each measured batch has every
+ * thread fire {@value #BATCH} shots at random cells of a board that is reset
+ * between iterations, so nearly every shot claims a fresh cell. Run it at several
+ * thread counts, e.g. {@code -t 1} and {@code -t 8}: with linear scaling the time
+ * per batch stays flat as threads are added.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20, batchSize = RaidBoardBenchmark.BATCH)
+@Measurement(iterations = 20, batchSize = RaidBoardBenchmark.BATCH)
+@Fork(2)
+public class RaidBoardBenchmark {
+
+    static final int BATCH = 16384;
+    private static final int SIZE = 2048;
+    private static final int SHIPS = 4096;
+    private static final long SEED = 20240601L;
+
+    @State(Scope.Benchmark)
+    public static class Raid {
+        RaidHarness harness;
+        int cells;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            harness = RaidHarness.create();
+            harness.setUp(SIZE, SHIPS, SEED);
+            cells = harness.getCellCount();
+        }
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            harness.reset();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Player {
+        SplittableRandom random;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            random = new SplittableRandom(Thread.currentThread().getId());
+        }
+    }
+
+    @Benchmark
+    public int fire(Raid raid, Player player) {
+        return raid.harness.fire(player.random.nextInt(raid.cells));
+    }
+}
@@ -0,0 +1,32 @@
+package ships.bench;
+
+/**
+ * Bridge to RaidBoard for the raid benchmarks; see {@link ModelHarness} for why
+ * the game classes are reached through an interface loaded by name.
+ */
+public interface RaidHarness {
+
+    /**
+     * Builds a square board with a random fleet of ships of length 2 to 5.
+     * @param size Rows and columns
+     * @param ships Number of ships
+     * @param seed Seed for ship placement
+     */
+    void setUp(int size, int ships, long seed);
+
+    /** Puts every ship back afloat and clears all shots; only call while nobody is firing. */
+    void reset();
+
+    int getCellCount();
+
+    /** Fires at a cell and returns the RaidBoard result code. */
+    int fire(int cell);
+
+    static RaidHarness create() {
+        try {
+            return (RaidHarness) Class.forName("RaidBoardHarness").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("RaidBoardHarness is not on the classpath", e);
+        }
+    }
+}
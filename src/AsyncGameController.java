@@ -0,0 +1,186 @@
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An event-driven alternative to {@link GameController}. Front ends hand it the
+ * player's input as it arrives instead of being polled through
+ * {@link GameView#getInput()}. Each call becomes a message in the game's mailbox,
+ * and the messages are run one at a time on a shared executor by a small state
+ * machine: AWAITING_LAYOUT, then IN_PLAY, then FINISHED. Results reach the view
+ * from the executor thread, so no thread is parked per game, and one small pool
+ * can drive any number of games.
+ *
+ * <p>All methods return immediately and are safe to call from any thread. The
+ * model and view are only touched by the game's messages, never by two threads at
+ * once.</p>
+ */
+public class AsyncGameController {
+    private static final Logger LOGGER = Logger.getLogger(AsyncGameController.class.getName());
+    // Messages run per turn on the executor before other games get a go.
+    private static final int MAX_BATCH = 64;
+
+    /** Where a game is in its life. */
+    public enum State { AWAITING_LAYOUT, IN_PLAY, FINISHED }
+
+    private final GameModel model;
+    private final GameView view;
+    private final GameController controller;
+    private final Executor executor;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final CompletableFuture<GameModel> finished = new CompletableFuture<>();
+    private volatile State state = State.AWAITING_LAYOUT;
+
+    /**
+     * @param executor Runs the game's messages; may be shared by many games
+     */
+    public AsyncGameController(GameModel model, GameView view, Executor executor) {
+        if (model == null || view == null) throw new IllegalArgumentException("Model and view cannot be null");
+        if (executor == null) throw new IllegalArgumentException("Executor cannot be null");
+        this.model = model;
+        this.view = view;
+        this.controller = new GameController(model, view);
+        this.executor = executor;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * @return Completes with the model once the game is FINISHED, e.g. to return it to a pool
+     */
+    public CompletableFuture<GameModel> getCompletion() {
+        return finished;
+    }
+
+    /**
+     * Starts the game with randomly placed ships.
+     */
+    public void startRandomGame() {
+        post(() -> {
+            if (awaitingLayout()) {
+                model.initializeGame();
+                begin();
+            }
+        });
+    }
+
+    /**
+     * Starts the game with ships read from a layout file.
+     */
+    public void startGame(String layoutFile) {
+        post(() -> {
+            if (awaitingLayout()) {
+                model.loadShipsFromFile(layoutFile);
+                begin();
+            }
+        });
+    }
+
+    /**
+     * Starts the game with the given ships.
+     * @param layout Layout to play; copied, so the caller may reuse it
+     */
+    public void startGame(Layout layout) {
+        if (layout == null) throw new IllegalArgumentException("Layout cannot be null");
+        Layout copy = layout.copy();
+        post(() -> {
+            if (awaitingLayout()) {
+                copy.applyTo(model);
+                begin();
+            }
+        });
+    }
+
+    /**
+     * Hands over a line from the player: a coordinate such as "B7", or "quit".
+     * @param input The player's input, or null if they disconnected (ends the game)
+     */
+    public void submitInput(String input) {
+        post(() -> handle(input));
+    }
+
+    private boolean awaitingLayout() {
+        if (state != State.AWAITING_LAYOUT) {
+            LOGGER.fine("Ignoring layout for a game that has already started");
+            return false;
+        }
+        return true;
+    }
+
+    private void begin() {
+        state = State.IN_PLAY;
+        view.showMessage("Welcome to Ships! Guess a coordinate.");
+        if (model.isGameOver()) {
+            finish();
+        }
+    }
+
+    private void handle(String input) {
+        switch (state) {
+            case AWAITING_LAYOUT:
+                if (input == null || input.equalsIgnoreCase("quit")) {
+                    finish();
+                } else {
+                    view.showMessage("The ships have not been placed yet.");
+                }
+                break;
+            case IN_PLAY:
+                if (input == null || input.equalsIgnoreCase("quit")) {
+                    view.showMessage("Game ended by player.");
+                    finish();
+                    break;
+                }
+                controller.handleInput(input);
+                if (model.isGameOver()) {
+                    finish();
+                }
+                break;
+            case FINISHED:
+                LOGGER.fine("Ignoring input after the game finished: " + input);
+                break;
+        }
+    }
+
+    private void finish() {
+        state = State.FINISHED;
+        finished.complete(model);
+    }
+
+    /**
+     * Queues a message and schedules the mailbox to be drained unless a drain is
+     * already scheduled or running.
+     */
+    private void post(Runnable message) {
+        mailbox.add(message);
+        if (pending.getAndIncrement() == 0) {
+            executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Runs queued messages in order. At most MAX_BATCH run per turn, so a chatty
+     * game cannot hold a pool thread while others wait.
+     */
+    private void drain() {
+        for (int i = 0; i < MAX_BATCH; i++) {
+            Runnable message = mailbox.poll();
+            try {
+                message.run();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Game message failed", e);
+                view.showMessage("Error: " + e.getMessage());
+            }
+            if (pending.decrementAndGet() == 0) {
+                return;
+            }
+        }
+        executor.execute(this::drain);
+    }
+}
@@ -0,0 +1,109 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncGameControllerTest {
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testStateMachineReportsEveryShot() throws Exception {
+        GameModel model = new GameModel(new SplittableRandom(3));
+        RecordingView view = new RecordingView();
+        AsyncGameController controller = new AsyncGameController(model, view, executor);
+
+        controller.submitInput("A1");
+        controller.startRandomGame();
+        controller.startRandomGame();
+        for (int cell = 0; cell < 100; cell++) {
+            controller.submitInput(GameRules.STANDARD.formatCell(cell));
+        }
+        controller.submitInput("B2");
+        assertSame(model, controller.getCompletion().get(10, TimeUnit.SECONDS));
+        assertEquals(AsyncGameController.State.FINISHED, controller.getState());
+
+        List<String> messages = view.messages;
+        synchronized (messages) {
+            assertEquals("The ships have not been placed yet.", messages.get(0));
+            assertEquals("Welcome to Ships! Guess a coordinate.", messages.get(1));
+            assertEquals(1, Collections.frequency(messages, messages.get(1)), "A second layout should be ignored");
+            long hits = messages.stream().filter(m -> m.startsWith("Hit at ")).count();
+            long misses = messages.stream().filter(m -> m.startsWith("Miss at ")).count();
+            assertEquals(16, hits);
+            assertTrue(misses <= 84);
+            assertTrue(messages.get(messages.size() - 1).startsWith("Game Over! You sank all ships in "));
+        }
+    }
+
+    @Test
+    public void testQuitFinishesGame() throws Exception {
+        RecordingView view = new RecordingView();
+        AsyncGameController controller = new AsyncGameController(new GameModel(), view, executor);
+        controller.startRandomGame();
+        controller.submitInput("quit");
+        controller.getCompletion().get(10, TimeUnit.SECONDS);
+        controller.submitInput("A1");
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(List.of("Welcome to Ships! Guess a coordinate.", "Game ended by player."), view.messages);
+    }
+
+    @Test
+    public void testSmallPoolDrivesManyGames() throws Exception {
+        List<AsyncGameController> games = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            AsyncGameController controller = new AsyncGameController(new GameModel(new SplittableRandom(i)), new RecordingView(), executor);
+            controller.startRandomGame();
+            games.add(controller);
+        }
+        // Interleave the games' inputs, as a network front end would.
+        for (int cell = 0; cell < 100; cell++) {
+            for (AsyncGameController controller : games) {
+                controller.submitInput(GameRules.STANDARD.formatCell(cell));
+            }
+        }
+        CompletableFuture.allOf(games.stream().map(AsyncGameController::getCompletion).toArray(CompletableFuture[]::new))
+                .get(30, TimeUnit.SECONDS);
+        for (AsyncGameController controller : games) {
+            assertTrue(controller.getCompletion().get().isGameOver());
+        }
+    }
+
+    private static class RecordingView implements GameView {
+        final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void displayGrid(int[][] grid) {
+        }
+
+        @Override
+        public void showMessage(String msg) {
+            messages.add(msg);
+        }
+
+        @Override
+        public String getInput() {
+            throw new AssertionError("The async controller must never poll for input");
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * A fixed-size set of board cells packed 64 to a word. Cell index is
+ * {@code row * cols + col}; the standard 10x10 board takes two words.
+ */
+final class BitBoard {
+    private final long[] words;
+
+    /**
+     * @param capacity Number of cells the set can hold
+     */
+    BitBoard(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Capacity cannot be negative: " + capacity);
+        words = new long[(capacity + 63) >>> 6];
+    }
+
+    boolean get(int cell) {
+        return (words[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    void set(int cell) {
+        words[cell >>> 6] |= 1L << cell;
+    }
+
+    void clear(int cell) {
+        words[cell >>> 6] &= ~(1L << cell);
+    }
+
+    void clear() {
+        for (int i = 0; i < words.length; i++) {
+            words[i] = 0L;
+        }
+    }
+
+    int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * @return true if every cell of {@code other} is also set in this board
+     */
+    boolean containsAll(BitBoard other) {
+        for (int i = 0; i < words.length; i++) {
+            if ((other.words[i] & ~words[i]) != 0L) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return number of cells set in both this board and {@code other}
+     */
+    int countCommon(BitBoard other) {
+        int count = 0;
+        for (int i = 0; i < words.length; i++) {
+            count += Long.bitCount(words[i] & other.words[i]);
+        }
+        return count;
+    }
+
+    /**
+     * @return the first set cell at or after {@code from}, or -1 if there is none
+     */
+    int nextSetBit(int from) {
+        int i = from >>> 6;
+        if (i >= words.length) return -1;
+        long word = words[i] & (-1L << from);
+        while (true) {
+            if (word != 0L) return (i << 6) + Long.numberOfTrailingZeros(word);
+            if (++i == words.length) return -1;
+            word = words[i];
+        }
+    }
+}
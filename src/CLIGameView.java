@@ -1,63 +1,221 @@
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Observable;
 import java.util.Observer;
 import java.util.Scanner;
 import java.util.logging.Logger;
 
+/**
+ * Text view on a terminal or pipe. The board is kept as a ready-made byte frame
+ * (header, row labels and one character per cell at a known offset), so a refresh
+ * only stores the cell characters and sends the frame with a single write.
+ *
+ * <p>In ANSI mode the board is drawn once at the top of the screen and later
+ * refreshes move the cursor to just the cells that changed. Messages stack on
+ * their own lines below the board, followed by the prompt, and are cleared when
+ * the player enters the next guess.</p>
+ */
 public class CLIGameView implements GameView, Observer {
 
     private static final Logger LOGGER = Logger.getLogger(CLIGameView.class.getName());
+    private static final byte[] CELL_CHARS = {'~', '~', 'X', 'O', 'S'}; // water, hidden ship, hit, miss, sunk
+    private static final String CSI = "\u001b[";
+    private static final String SAVE_CURSOR = "\u001b7", RESTORE_CURSOR = "\u001b8";
+    private static final String PROMPT = "Enter your guess ";
+
+    private final GameRules rules;
+    private final boolean ansi;
+    private final PrintStream out;
+    private final Histogram renderTimes = GameMetrics.global().renderTimes("cli");
+    private final byte[] frame;
+    private final int[] cellOffsets;
+    private final int labelWidth;
+    private final int columnWidth;
+    private final byte[] shown;
+    private final AsciiBuffer buffer = new AsciiBuffer(256);
+    private boolean drawn;
+    private int messageLines; // message lines shown below the board since the last input
     private Scanner scanner;
 
     public CLIGameView() {
-        scanner = new Scanner(System.in);
+        this(GameRules.STANDARD);
+    }
+
+    /**
+     * @param rules Board the player sees; row labels and input parsing follow it
+     */
+    public CLIGameView(GameRules rules) {
+        this(rules, false);
+    }
+
+    /**
+     * @param rules Board the player sees; row labels and input parsing follow it
+     * @param ansi Whether to redraw changed cells in place with ANSI escape codes
+     */
+    public CLIGameView(GameRules rules, boolean ansi) {
+        this(rules, ansi, System.in, System.out);
+    }
+
+    CLIGameView(GameRules rules, boolean ansi, InputStream in, PrintStream out) {
+        if (rules == null) throw new IllegalArgumentException("Rules cannot be null");
+        this.rules = rules;
+        this.ansi = ansi;
+        this.out = out;
+        int rows = rules.getRows();
+        int cols = rules.getCols();
+        labelWidth = GameRules.appendRowLabel(new StringBuilder(), rows - 1).length() + 1;
+        // Wide enough for every column label but the last, which has nothing to its right.
+        columnWidth = Math.max(2, Integer.toString(cols - 1).length() + 1);
+
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < labelWidth; i++) text.append(' ');
+        for (int col = 1; col <= cols; col++) {
+            int start = text.length();
+            text.append(col);
+            if (col < cols) {
+                while (text.length() < start + columnWidth) text.append(' ');
+            }
+        }
+        text.append('\n');
+        cellOffsets = new int[rules.getCellCount()];
+        for (int row = 0; row < rows; row++) {
+            int start = text.length();
+            GameRules.appendRowLabel(text, row);
+            while (text.length() < start + labelWidth) text.append(' ');
+            for (int col = 0; col < cols; col++) {
+                cellOffsets[row * cols + col] = text.length();
+                text.append((char) CELL_CHARS[GameModel.WATER]);
+                for (int i = 1; i < columnWidth; i++) text.append(' ');
+            }
+            text.append('\n');
+        }
+        frame = new byte[text.length()];
+        for (int i = 0; i < frame.length; i++) {
+            frame[i] = (byte) text.charAt(i);
+        }
+        shown = new byte[rules.getCellCount()];
+        scanner = new Scanner(in);
     }
 
     @Override
     public void displayGrid(int[][] grid) {
-        if (grid == null || grid.length != 10 || grid[0].length != 10) {
-            throw new IllegalArgumentException("Grid must be 10x10");
-        }
-        System.out.println("  1 2 3 4 5 6 7 8 9 10");
-        for (int row = 0; row < 10; row++) {
-            System.out.print((char)('A' + row) + " ");
-            for (int col = 0; col < 10; col++) {
-                if (grid[row][col] == 0 || grid[row][col] == 1) {
-                    System.out.print("~ "); // Water or hidden ship
-                } else if (grid[row][col] == 2) {
-                    System.out.print("X "); // Hit
-                } else if (grid[row][col] == 3) {
-                    System.out.print("O "); // Miss
-                }else if (grid[row][col] == 4) {
-                    System.out.print("S "); // Ship - sunk
+        int rows = rules.getRows();
+        int cols = rules.getCols();
+        if (grid == null || grid.length != rows || grid[0].length != cols) {
+            throw new IllegalArgumentException("Grid must be " + rows + "x" + cols);
+        }
+        long start = System.nanoTime();
+        if (ansi && drawn) {
+            redrawChangedCells(grid);
+        } else {
+            for (int row = 0; row < rows; row++) {
+                int[] line = grid[row];
+                for (int col = 0; col < cols; col++) {
+                    byte c = CELL_CHARS[line[col]];
+                    frame[cellOffsets[row * cols + col]] = c;
+                    shown[row * cols + col] = c;
                 }
             }
-            System.out.println();
+            if (ansi) {
+                // Clear the screen and draw from the top, so cells have fixed positions.
+                buffer.clear();
+                buffer.append(CSI).append("2J").append(CSI).append('H').append(frame, frame.length);
+                buffer.writeTo(out);
+                drawn = true;
+            } else {
+                out.write(frame, 0, frame.length);
+                out.flush();
+            }
+        }
+        renderTimes.record(System.nanoTime() - start);
+    }
+
+    private void redrawChangedCells(int[][] grid) {
+        int cols = rules.getCols();
+        buffer.clear();
+        buffer.append(SAVE_CURSOR);
+        boolean changed = false;
+        for (int row = 0; row < grid.length; row++) {
+            int[] line = grid[row];
+            for (int col = 0; col < cols; col++) {
+                int cell = row * cols + col;
+                byte c = CELL_CHARS[line[col]];
+                if (shown[cell] != c) {
+                    shown[cell] = c;
+                    frame[cellOffsets[cell]] = c;
+                    // Screen positions are 1-based, and the header takes the first line.
+                    buffer.append(CSI).append(row + 2).append(';').append(labelWidth + columnWidth * col + 1).append('H').append(c);
+                    changed = true;
+                }
+            }
+        }
+        if (changed) {
+            buffer.append(RESTORE_CURSOR);
+            buffer.writeTo(out);
         }
     }
 
     @Override
     public void showMessage(String msg) {
         if (msg == null) msg = "";
-        System.out.println(msg);
+        buffer.clear();
+        if (ansi && drawn) {
+            // Messages of one turn stack up below the board; the next input clears them.
+            moveToLine(rules.getRows() + 2 + messageLines++);
+            buffer.append(msg);
+        } else {
+            buffer.append(msg).append('\n');
+        }
+        buffer.writeTo(out);
     }
 
     @Override
     public String getInput() {
-        System.out.print("Enter your guess ");
-        String input = scanner.nextLine().trim().toUpperCase();
-        if (input.matches("[A-J](10|[1-9])")) {
-            return input;
-        } else {
+        while (true) {
+            buffer.clear();
+            if (ansi && drawn) {
+                moveToLine(rules.getRows() + 2 + messageLines);
+            }
+            buffer.append(PROMPT);
+            buffer.writeTo(out);
+            if (!scanner.hasNextLine()) {
+                return null;
+            }
+            String input = scanner.nextLine().trim().toUpperCase();
+            clearMessages();
+            if (rules.parseCell(input) >= 0) {
+                return input;
+            }
             showMessage("Invalid input!");
-            return getInput();
         }
     }
 
+    /**
+     * Clears the messages and prompt of the turn that just ended, in ANSI mode.
+     */
+    private void clearMessages() {
+        if (!ansi || !drawn) {
+            return;
+        }
+        buffer.clear();
+        for (int line = 0; line <= messageLines; line++) {
+            moveToLine(rules.getRows() + 2 + line);
+        }
+        buffer.writeTo(out);
+        messageLines = 0;
+    }
+
+    /**
+     * Appends the escape codes that put the cursor at the start of a cleared line.
+     */
+    private void moveToLine(int line) {
+        buffer.append(CSI).append(line).append(";1H").append(CSI).append("2K");
+    }
+
     @Override
     public void update(Observable o, Object arg) {
-        System.out.println("[Observer] Update triggered by " + o.getClass().getSimpleName());
-        LOGGER.fine("CLIGameView received update");
-
         if (!(o instanceof GameModel)) {
             LOGGER.warning("Received update from unexpected observable: " + o.getClass().getName());
             throw new IllegalStateException("Observer expected GameModel, got " + o.getClass().getName());
@@ -66,4 +224,71 @@ public class CLIGameView implements GameView, Observer {
         int[][] grid = (arg != null) ? (int[][]) arg : model.getGrid();
         displayGrid(grid);
     }
+
+    /**
+     * A growable byte buffer that is reused for every write, so output is assembled
+     * without creating Strings and sent in one call. Text is written as ASCII, or
+     * UTF-8 if it has other characters.
+     */
+    private static final class AsciiBuffer {
+        private byte[] bytes;
+        private int length;
+
+        AsciiBuffer(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        void clear() {
+            length = 0;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+
+        AsciiBuffer append(char c) {
+            ensure(1);
+            bytes[length++] = (byte) c;
+            return this;
+        }
+
+        AsciiBuffer append(byte c) {
+            ensure(1);
+            bytes[length++] = c;
+            return this;
+        }
+
+        AsciiBuffer append(CharSequence text) {
+            ensure(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c >= 0x80) {
+                    // Rare outside ASCII; fall back to encoding the rest properly.
+                    byte[] encoded = text.subSequence(i, text.length()).toString().getBytes(StandardCharsets.UTF_8);
+                    return append(encoded, encoded.length);
+                }
+                bytes[length++] = (byte) c;
+            }
+            return this;
+        }
+
+        AsciiBuffer append(byte[] source, int count) {
+            ensure(count);
+            System.arraycopy(source, 0, bytes, length, count);
+            length += count;
+            return this;
+        }
+
+        AsciiBuffer append(int value) {
+            if (value >= 10) append(value / 10);
+            return append((char) ('0' + value % 10));
+        }
+
+        void writeTo(PrintStream out) {
+            out.write(bytes, 0, length);
+            out.flush();
+        }
+    }
 }
@@ -0,0 +1,95 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CLIGameViewTest {
+
+    @Test
+    public void testPlainModeWritesWholeBoard() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CLIGameView view = new CLIGameView(GameRules.STANDARD, false, new ByteArrayInputStream(new byte[0]), new PrintStream(bytes));
+        int[][] grid = new int[10][10];
+        grid[0][0] = GameModel.HIT;
+        grid[0][1] = GameModel.MISS;
+        grid[9][9] = GameModel.SUNK;
+        grid[5][5] = GameModel.SHIP;
+        view.displayGrid(grid);
+
+        String[] lines = bytes.toString(StandardCharsets.US_ASCII).split("\n");
+        assertEquals(11, lines.length);
+        assertEquals("  1 2 3 4 5 6 7 8 9 10", lines[0]);
+        assertEquals("A X O ~ ~ ~ ~ ~ ~ ~ ~ ", lines[1]);
+        assertEquals("F ~ ~ ~ ~ ~ ~ ~ ~ ~ ~ ", lines[6], "Hidden ships should look like water");
+        assertEquals("J ~ ~ ~ ~ ~ ~ ~ ~ ~ S ", lines[10]);
+    }
+
+    @Test
+    public void testAnsiModeRedrawsOnlyChangedCells() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CLIGameView view = new CLIGameView(GameRules.STANDARD, true, new ByteArrayInputStream(new byte[0]), new PrintStream(bytes));
+        int[][] grid = new int[10][10];
+        view.displayGrid(grid);
+        bytes.reset();
+
+        view.displayGrid(grid);
+        assertEquals(0, bytes.size(), "Nothing changed, so nothing should be written");
+
+        grid[2][3] = GameModel.MISS;
+        view.displayGrid(grid);
+        assertEquals("\u001b7\u001b[4;9HO\u001b8", bytes.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testAnsiMessagesOfOneTurnDoNotOverwriteEachOther() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ByteArrayInputStream in = new ByteArrayInputStream("A1\n".getBytes(StandardCharsets.US_ASCII));
+        CLIGameView view = new CLIGameView(GameRules.STANDARD, true, in, new PrintStream(bytes));
+        view.displayGrid(new int[10][10]);
+        bytes.reset();
+
+        view.showMessage("Sunk!");
+        view.showMessage("Game Over!");
+        assertEquals("\u001b[12;1H\u001b[2KSunk!\u001b[13;1H\u001b[2KGame Over!", bytes.toString(StandardCharsets.US_ASCII));
+        bytes.reset();
+
+        assertEquals("A1", view.getInput());
+        String output = bytes.toString(StandardCharsets.US_ASCII);
+        assertTrue(output.startsWith("\u001b[14;1H\u001b[2K" + "Enter your guess "), "Prompt goes below the messages: " + output);
+        assertTrue(output.endsWith("\u001b[12;1H\u001b[2K\u001b[13;1H\u001b[2K\u001b[14;1H\u001b[2K"),
+                "Entering a guess clears the turn's lines: " + output);
+        bytes.reset();
+        view.showMessage("Miss!");
+        assertEquals("\u001b[12;1H\u001b[2KMiss!", bytes.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testLabelsWidenForLargeBoards() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CLIGameView view = new CLIGameView(new GameRules(28, 12, 5), false, new ByteArrayInputStream(new byte[0]), new PrintStream(bytes));
+        view.displayGrid(new int[28][12]);
+        String[] lines = bytes.toString(StandardCharsets.US_ASCII).split("\n");
+        assertEquals("   1  2  3  4  5  6  7  8  9  10 11 12", lines[0]);
+        assertTrue(lines[1].startsWith("A  ~  ~"), lines[1]);
+        assertTrue(lines[28].startsWith("AB ~  ~"), lines[28]);
+        for (int col = 0; col < 12; col++) {
+            int offset = 3 + 3 * col;
+            assertEquals('~', lines[1].charAt(offset), "Cell of column " + (col + 1));
+            assertEquals(Integer.toString(col + 1).charAt(0), lines[0].charAt(offset), "Label of column " + (col + 1));
+        }
+
+        bytes.reset();
+        CLIGameView ansi = new CLIGameView(new GameRules(28, 12, 5), true, new ByteArrayInputStream(new byte[0]), new PrintStream(bytes));
+        int[][] grid = new int[28][12];
+        ansi.displayGrid(grid);
+        bytes.reset();
+        grid[0][11] = GameModel.MISS;
+        ansi.displayGrid(grid);
+        assertEquals("\u001b7\u001b[2;37HO\u001b8", bytes.toString(StandardCharsets.US_ASCII),
+                "Column 12 is drawn at the 37th character, under its label");
+    }
+}
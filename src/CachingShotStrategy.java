@@ -0,0 +1,85 @@
+/**
+ * Wraps a deterministic strategy with a transposition table, so a position that
+ * has been seen before is answered by a lookup instead of a fresh search. The
+ * wrapper tracks the position's Zobrist hash from the results it is fed, which
+ * is the same hash as {@link GameModel#getStateHash()}. Only the first few shots
+ * of each game are looked up and stored. Those positions recur constantly across
+ * games, while later ones are almost always new and would only push the openings
+ * out of the table.
+ *
+ * <p>The wrapped strategy still gets every result, including for shots it did not
+ * pick, so it must choose from the results alone, as ProbabilityShotStrategy does.
+ * Many wrappers, e.g. one per simulation worker, can share one table.</p>
+ */
+public class CachingShotStrategy implements ShotStrategy {
+    private final GameRules rules;
+    private final ShotStrategy delegate;
+    private final TranspositionTable table;
+    private final int maxShots;
+    private final BitBoard fired;
+    private long stateHash;
+    private int shots;
+
+    /**
+     * @param rules Board the strategy plays
+     * @param delegate Strategy that decides positions not in the table
+     * @param table Table of known positions; pre-warm it with {@link OpeningBook#load}
+     * @param maxShots Positions after this many shots are neither looked up nor stored
+     */
+    public CachingShotStrategy(GameRules rules, ShotStrategy delegate, TranspositionTable table, int maxShots) {
+        if (rules == null || delegate == null || table == null) {
+            throw new IllegalArgumentException("Rules, strategy and table cannot be null");
+        }
+        if (maxShots < 0) throw new IllegalArgumentException("Shot limit cannot be negative: " + maxShots);
+        this.rules = rules;
+        this.delegate = delegate;
+        this.table = table;
+        this.maxShots = maxShots;
+        this.fired = new BitBoard(rules.getCellCount());
+    }
+
+    @Override
+    public void newGame() {
+        delegate.newGame();
+        fired.clear();
+        stateHash = 0;
+        shots = 0;
+    }
+
+    @Override
+    public int nextShot() {
+        if (shots >= maxShots) {
+            return delegate.nextShot();
+        }
+        int cached = table.get(stateHash);
+        // A stale or foreign entry (hash collision, book for other rules) is ignored.
+        if (rules.isCell(cached) && !fired.get(cached)) {
+            return cached;
+        }
+        int shot = delegate.nextShot();
+        table.put(stateHash, shot);
+        return shot;
+    }
+
+    @Override
+    public void shotResult(int cell, int result, Ship sunkShip) {
+        fired.set(cell);
+        shots++;
+        if (result == GameModel.SHOT_MISS) {
+            stateHash ^= Zobrist.cell(cell, GameModel.MISS);
+        } else if (result == GameModel.SHOT_HIT) {
+            stateHash ^= Zobrist.cell(cell, GameModel.HIT);
+        } else if (result == GameModel.SHOT_SUNK) {
+            if (sunkShip == null) throw new IllegalArgumentException("Sunk result needs the sunk ship");
+            stateHash ^= Zobrist.cell(cell, GameModel.SUNK) ^ Zobrist.sinking(sunkShip, rules.getCols(), cell);
+        }
+        delegate.shotResult(cell, result, sunkShip);
+    }
+
+    /**
+     * @return Hash of the position this strategy has seen, as {@link GameModel#getStateHash()}
+     */
+    public long getStateHash() {
+        return stateHash;
+    }
+}
@@ -0,0 +1,115 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingShotStrategyTest {
+
+    @Test
+    public void testStrategyTracksModelStateHash() {
+        GameModel model = new GameModel(new SplittableRandom(21));
+        model.setValidationMode(ValidationMode.FULL);
+        model.setMetrics(null);
+        model.initializeGame();
+        assertEquals(0, model.getStateHash(), "Nothing has been revealed yet");
+
+        CachingShotStrategy strategy = new CachingShotStrategy(GameRules.STANDARD, new ProbabilityShotStrategy(),
+                new TranspositionTable(1024), 10);
+        strategy.newGame();
+        while (!model.isGameOver()) {
+            int cell = strategy.nextShot();
+            int result = model.fire(cell);
+            strategy.shotResult(cell, result, result == GameModel.SHOT_SUNK ? model.getShipAt(cell) : null);
+            assertEquals(model.getStateHash(), strategy.getStateHash(), "Hashes should agree after " + cell);
+        }
+        model.reset();
+        assertEquals(0, model.getStateHash());
+    }
+
+    @Test
+    public void testShotOrderDoesNotChangeHash() {
+        Layout layout = new Layout();
+        layout.addShip(0, 5, true);      // A1-A5
+        layout.addShip(22, 4, false);    // C3-F3
+        layout.addShip(44, 3, true);     // E5-E7
+        layout.addShip(66, 3, false);    // G7-I7
+        layout.addShip(88, 2, true);     // I9-I10
+        GameModel first = new GameModel();
+        GameModel second = new GameModel();
+        layout.applyTo(first);
+        layout.applyTo(second);
+        int[] cells = {0, 1, 2, 3, 4, 55, 99, 23};
+        for (int cell : cells) {
+            first.fire(cell);
+        }
+        for (int i = cells.length - 1; i >= 0; i--) {
+            second.fire(cells[i]);
+        }
+        assertEquals(first.getStateHash(), second.getStateHash());
+        assertNotEquals(0, first.getStateHash());
+    }
+
+    @Test
+    public void testCachedStrategyPlaysLikeItsDelegate() {
+        TranspositionTable table = new TranspositionTable(4096);
+        ShotStrategy plain = new ProbabilityShotStrategy();
+        ShotStrategy cached = new CachingShotStrategy(GameRules.STANDARD, new ProbabilityShotStrategy(), table, 6);
+        GameModel model = new GameModel(new SplittableRandom(8));
+        model.setMetrics(null);
+        for (int game = 0; game < 100; game++) {
+            model.initializeGame();
+            Layout layout = Layout.of(model);
+            int expected = SimulationRunner.playGame(model, plain);
+            layout.applyTo(model);
+            assertEquals(expected, SimulationRunner.playGame(model, cached), "Game " + game + " should take the same shots");
+        }
+        assertTrue(table.getHits() > 500, "Openings should mostly come from the table, hits: " + table.getHits());
+    }
+
+    @Test
+    public void testClockEvictsEntriesNotUsedSinceLastSweep() {
+        TranspositionTable table = new TranspositionTable(4); // a single set of four slots
+        for (int i = 1; i <= 4; i++) {
+            table.put(i, i);
+        }
+        assertEquals(2, table.get(2));
+        assertEquals(3, table.get(3));
+        table.put(5, 5);
+        assertEquals(-1, table.get(1), "The first unused entry should go");
+        table.put(6, 6);
+        assertEquals(-1, table.get(4), "Then the next unused one");
+        assertEquals(2, table.get(2));
+        assertEquals(3, table.get(3));
+        assertEquals(4, table.size());
+        assertEquals(2, table.getEvictions());
+    }
+
+    @Test
+    public void testOpeningBookRoundTrip() throws IOException {
+        GameRules rules = GameRules.STANDARD;
+        TranspositionTable built = OpeningBook.build(rules, ProbabilityShotStrategy::new, 50, 4, 1024, 3L);
+        Map<Long, Integer> expected = new HashMap<>();
+        built.forEach(expected::put);
+        assertTrue(expected.size() > 10);
+
+        Path book = Files.createTempFile("opening", ".book");
+        try {
+            assertEquals(expected.size(), OpeningBook.write(book, rules, built));
+            TranspositionTable loaded = new TranspositionTable(1024);
+            assertEquals(expected.size(), OpeningBook.load(book, rules, loaded));
+            Map<Long, Integer> actual = new HashMap<>();
+            loaded.forEach(actual::put);
+            assertEquals(expected, actual);
+            assertThrows(IllegalArgumentException.class,
+                    () -> OpeningBook.load(book, new GameRules(12, 12, 5, 4, 3, 2, 2), new TranspositionTable(16)));
+        } finally {
+            Files.deleteIfExists(book);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * A coordinate on the standard board such as "A1" (row letter, 1-based column
+ * number). Other board sizes are handled by {@link GameRules}, which does the
+ * parsing and formatting for this class too.
+ */
+public final class Coordinate {
+    private static final GameRules RULES = GameRules.STANDARD;
+
+    private final int row;
+    private final int col;
+
+    public Coordinate(int row, int col) {
+        if (RULES.cellOf(row, col) < 0) {
+            throw new IllegalArgumentException("Coordinate out of range: " + row + "," + col);
+        }
+        this.row = row;
+        this.col = col;
+    }
+
+    /**
+     * Parses a coordinate, e.g. "C7".
+     * @param text Text to parse
+     * @return The coordinate, or null if the text is not a valid coordinate
+     */
+    public static Coordinate parse(CharSequence text) {
+        int cell = parseCell(text);
+        return cell < 0 ? null : new Coordinate(cell / RULES.getCols(), cell % RULES.getCols());
+    }
+
+    /**
+     * Parses a coordinate into a cell index ({@code row * RULES.getCols() + col}) without allocating.
+     * Accepts exactly the format "[A-J](10|[1-9])".
+     * @param text Text to parse
+     * @return The cell index, or -1 if the text is null or not a valid coordinate
+     */
+    public static int parseCell(CharSequence text) {
+        return RULES.parseCell(text);
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public int getCol() {
+        return col;
+    }
+
+    public int getCellIndex() {
+        return RULES.cellOf(row, col);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Coordinate)) return false;
+        Coordinate other = (Coordinate) o;
+        return row == other.row && col == other.col;
+    }
+
+    @Override
+    public int hashCode() {
+        return getCellIndex();
+    }
+
+    @Override
+    public String toString() {
+        return RULES.formatCell(getCellIndex());
+    }
+}
@@ -0,0 +1,35 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CoordinateTest {
+
+    @Test
+    public void testParseValidCoordinates() {
+        assertEquals(0, Coordinate.parseCell("A1"), "A1 should be the first cell");
+        assertEquals(9, Coordinate.parseCell("A10"), "A10 should be the last cell of the first row");
+        assertEquals(99, Coordinate.parseCell("J10"), "J10 should be the last cell");
+        assertEquals(new Coordinate(2, 6), Coordinate.parse(new StringBuilder("C7")));
+        assertEquals("C7", new Coordinate(2, 6).toString());
+    }
+
+    @Test
+    public void testParseRejectsInvalidCoordinates() {
+        String[] invalid = {null, "", "A", "A0", "A01", "A11", "K1", "a1", "A1 ", "AA", "A100"};
+        for (String text : invalid) {
+            assertEquals(-1, Coordinate.parseCell(text), "Should reject " + text);
+        }
+        assertNull(Coordinate.parse("Z9"));
+    }
+
+    @Test
+    public void testGuessOverloadsAgree() {
+        GameModel model = new GameModel();
+        model.initializeGame();
+        assertEquals(model.getCellState(23) == GameModel.SHIP, model.processGuess(2, 3));
+        assertFalse(model.processGuess("C4"), "Same cell by string should be a repeat");
+        assertFalse(model.processGuess(23), "Same cell by index should be a repeat");
+        assertFalse(model.processGuess(100), "Out-of-range cell should be rejected");
+        assertEquals(1, model.getShotsNumber());
+    }
+}
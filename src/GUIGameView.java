@@ -2,45 +2,95 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
 import java.util.Observable;
 import java.util.Observer;
 import java.util.logging.Logger;
 
-public class GUIGameView implements GameView, Observer {
+public class GUIGameView implements GameView, Observer, GameModelListener {
     private static final Logger LOGGER = Logger.getLogger(GUIGameView.class.getName());
+    private static final int INPUT_QUEUE_CAPACITY = 128;
+    // Buttons shrink to keep large boards on screen, down to a clickable minimum.
+    private static final int BOARD_PIXELS = 500;
+    private static final int MIN_BUTTON_SIZE = 20;
+    private final GameRules rules;
     private JFrame frame;
     private JButton[][] gridButtons;
     private JLabel messageLabel;
-    private String lastInput;
-    private boolean inputReceived;
+    private final BlockingQueue<String> inputQueue = new ArrayBlockingQueue<>(INPUT_QUEUE_CAPACITY);
+    private final Histogram renderTimes = GameMetrics.global().renderTimes("gui");
+    private volatile Consumer<String> inputHandler;
+
+    // Cells waiting to be painted, written by the model's thread and drained on the EDT.
+    private final Object renderLock = new Object();
+    private final int[] pendingStates;
+    private final boolean[] dirty;
+    private final int[] dirtyCells;
+    private int dirtyCount;
+    private String pendingMessage;
+    private boolean repaintScheduled;
+
+    // EDT-only: what each button currently shows, plus scratch space for a frame.
+    private final int[] shownStates;
+    private final int[] frameCells;
+    private final int[] frameStates;
 
     public GUIGameView(){
-        frame = new JFrame("Ships");
-        gridButtons = new JButton[10][10];
-        messageLabel = new JLabel("Welcome to Ships! Click to guess.");
-        lastInput = "";
-        inputReceived = false;
-        initializeGUI();
+        this(GameRules.STANDARD);
+    }
+
+    /**
+     * @param rules Board to show; one button per cell
+     */
+    public GUIGameView(GameRules rules){
+        if (rules == null) throw new IllegalArgumentException("Rules cannot be null");
+        this.rules = rules;
+        int cellCount = rules.getCellCount();
+        pendingStates = new int[cellCount];
+        dirty = new boolean[cellCount];
+        dirtyCells = new int[cellCount];
+        shownStates = new int[cellCount];
+        frameCells = new int[cellCount];
+        frameStates = new int[cellCount];
+        gridButtons = new JButton[rules.getRows()][rules.getCols()];
+        Arrays.fill(shownStates, -1);
+        if (SwingUtilities.isEventDispatchThread()) {
+            initializeGUI();
+        } else {
+            try {
+                SwingUtilities.invokeAndWait(this::initializeGUI);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while creating the GUI", e);
+            } catch (InvocationTargetException e) {
+                throw new IllegalStateException("Failed to create the GUI", e.getCause());
+            }
+        }
     }
 
     private void initializeGUI() {
+        frame = new JFrame("Ships");
+        messageLabel = new JLabel("Welcome to Ships! Click to guess.");
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         frame.setLayout(new BorderLayout());
 
-        JPanel gridPanel = new JPanel(new GridLayout(10, 10));
-        for (int row = 0; row < 10; row++) {
-            for (int col = 0; col < 10; col++) {
+        int rows = rules.getRows();
+        int cols = rules.getCols();
+        int buttonSize = Math.max(MIN_BUTTON_SIZE, BOARD_PIXELS / Math.max(rows, cols));
+        JPanel gridPanel = new JPanel(new GridLayout(rows, cols));
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
                 gridButtons[row][col] = new JButton();
-                gridButtons[row][col].setPreferredSize(new Dimension(50, 50));
-                final String coord = "" + (char)('A' + row) + (col + 1);
+                gridButtons[row][col].setPreferredSize(new Dimension(buttonSize, buttonSize));
+                final String coord = rules.formatCell(row * cols + col);
                 gridButtons[row][col].addActionListener(new ActionListener() {
                     @Override
                     public void actionPerformed(ActionEvent e) {
-                        lastInput = coord;
-                        inputReceived = true;
-                        synchronized (GUIGameView.this) {
-                            GUIGameView.this.notify();
-                        }
+                        submitInput(coord);
                     }
                 });
                 gridPanel.add(gridButtons[row][col]);
@@ -56,30 +106,98 @@ public class GUIGameView implements GameView, Observer {
         frame.setVisible(true);
     }
 
+    /**
+     * Queues the whole grid for painting. Safe to call from any thread; cells whose
+     * state has not changed since the last frame are not touched.
+     */
     @Override
     public void displayGrid(int[][] grid) {
-        if (grid == null || grid.length != 10 || grid[0].length != 10) {
-            throw new IllegalArgumentException("Grid must be 10x10");
-        }
-        for (int row = 0; row < 10; row++) {
-            for (int col = 0; col < 10; col++) {
-                if (grid[row][col] == 0) {
-                    gridButtons[row][col].setBackground(Color.BLUE); // Water
-                    gridButtons[row][col].setText("");
-                } else if (grid[row][col] == 1) {
-                    gridButtons[row][col].setBackground(Color.BLUE); // Ship - hidden
-                    gridButtons[row][col].setText("");
-                }else if (grid[row][col] == 2) {
-                    gridButtons[row][col].setBackground(Color.RED); // Hit
-                    gridButtons[row][col].setText("X");
-                } else if (grid[row][col] == 3) {
-                    gridButtons[row][col].setBackground(Color.WHITE); // Miss
-                    gridButtons[row][col].setText("O");
-                }else if (grid[row][col] == 4) {
-                    gridButtons[row][col].setBackground(Color.GRAY); // Ship - sunk
-                    gridButtons[row][col].setText("X");
+        int rows = rules.getRows();
+        int cols = rules.getCols();
+        if (grid == null || grid.length != rows || grid[0].length != cols) {
+            throw new IllegalArgumentException("Grid must be " + rows + "x" + cols);
+        }
+        synchronized (renderLock) {
+            for (int row = 0; row < rows; row++) {
+                for (int col = 0; col < cols; col++) {
+                    markDirty(row * cols + col, grid[row][col]);
                 }
             }
+            scheduleRepaint();
+        }
+    }
+
+    /**
+     * Records the latest state of a cell. Caller must hold renderLock.
+     */
+    private void markDirty(int cell, int state) {
+        pendingStates[cell] = state;
+        if (!dirty[cell]) {
+            dirty[cell] = true;
+            dirtyCells[dirtyCount++] = cell;
+        }
+    }
+
+    /**
+     * Schedules one repaint on the EDT unless one is already pending, so a burst
+     * of model updates is painted in a single frame. Caller must hold renderLock.
+     */
+    private void scheduleRepaint() {
+        if (!repaintScheduled) {
+            repaintScheduled = true;
+            SwingUtilities.invokeLater(this::renderFrame);
+        }
+    }
+
+    /**
+     * Paints everything queued since the last frame. Runs on the EDT.
+     */
+    private void renderFrame() {
+        long start = System.nanoTime();
+        int count;
+        String message;
+        synchronized (renderLock) {
+            count = dirtyCount;
+            for (int i = 0; i < count; i++) {
+                int cell = dirtyCells[i];
+                frameCells[i] = cell;
+                frameStates[i] = pendingStates[cell];
+                dirty[cell] = false;
+            }
+            dirtyCount = 0;
+            message = pendingMessage;
+            pendingMessage = null;
+            repaintScheduled = false;
+        }
+        for (int i = 0; i < count; i++) {
+            int cell = frameCells[i];
+            if (shownStates[cell] != frameStates[i]) {
+                shownStates[cell] = frameStates[i];
+                paintCell(gridButtons[cell / rules.getCols()][cell % rules.getCols()], frameStates[i]);
+            }
+        }
+        if (message != null) {
+            messageLabel.setText(message);
+        }
+        renderTimes.record(System.nanoTime() - start);
+    }
+
+    private void paintCell(JButton button, int state) {
+        if (state == 0) {
+            button.setBackground(Color.BLUE); // Water
+            button.setText("");
+        } else if (state == 1) {
+            button.setBackground(Color.BLUE); // Ship - hidden
+            button.setText("");
+        }else if (state == 2) {
+            button.setBackground(Color.RED); // Hit
+            button.setText("X");
+        } else if (state == 3) {
+            button.setBackground(Color.WHITE); // Miss
+            button.setText("O");
+        }else if (state == 4) {
+            button.setBackground(Color.GRAY); // Ship - sunk
+            button.setText("X");
         }
     }
 
@@ -88,23 +206,54 @@ public class GUIGameView implements GameView, Observer {
         if (msg == null){
             msg = "";
         }
-        messageLabel.setText(msg);
+        synchronized (renderLock) {
+            pendingMessage = msg;
+            scheduleRepaint();
+        }
+    }
+
+    /**
+     * Queues a guess as if its button had been clicked. Used by the click handlers
+     * and by scripted UI tests; never blocks the caller.
+     * @param coord Coordinate to guess, e.g. "B7"
+     * @return false if the queue is full and the input was dropped
+     */
+    boolean submitInput(String coord) {
+        Consumer<String> handler = inputHandler;
+        if (handler != null) {
+            handler.accept(coord);
+            return true;
+        }
+        boolean accepted = inputQueue.offer(coord);
+        if (!accepted) {
+            LOGGER.warning("Input queue full, dropping click on " + coord);
+        }
+        return accepted;
+    }
+
+    /**
+     * Sends clicks straight to a handler, such as
+     * {@link AsyncGameController#submitInput}, instead of queueing them for
+     * {@link #getInput()}.
+     * @param handler Receives each clicked coordinate on the EDT; null to queue again
+     */
+    public void setInputHandler(Consumer<String> handler) {
+        inputHandler = handler;
     }
 
+    /**
+     * Blocks until the next queued click and returns it. Clicks made while the
+     * controller is busy are kept in order rather than lost.
+     * @return The clicked coordinate, or null if the thread is interrupted
+     */
     @Override
     public String getInput() {
-        inputReceived = false;
-        while (!inputReceived) {
-            synchronized (this) {
-                try {
-                    wait();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    return null;
-                }
-            }
+        try {
+            return inputQueue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
         }
-        return lastInput;
     }
 
     /**
@@ -114,17 +263,34 @@ public class GUIGameView implements GameView, Observer {
      */
     @Override
     public void update(Observable o, Object arg) {
-        System.out.println("[Observer] Update triggered by " + o.getClass().getSimpleName());
         if (!(o instanceof GameModel)) {
             LOGGER.warning("Received update from unexpected observable: " + o.getClass().getName());
             throw new IllegalStateException("Observer expected GameModel, got " + o.getClass().getName());
         }
         GameModel model = (GameModel) o;
         int[][] grid = (arg != null) ? (int[][]) arg : model.getGrid();
-        LOGGER.fine("GUIGameView received update from GameModel");
         displayGrid(grid);
         if (model.isGameOver()) {
             showMessage("Game Over! All ships sunk!");
         }
     }
+
+    /**
+     * Queues only the button of the cell that changed.
+     */
+    @Override
+    public void cellChanged(GameModel model, int cell, int oldState, int newState, int sunkShip) {
+        synchronized (renderLock) {
+            markDirty(cell, newState);
+            scheduleRepaint();
+        }
+        if (model.isGameOver()) {
+            showMessage("Game Over! All ships sunk!");
+        }
+    }
+
+    @Override
+    public void boardReset(GameModel model) {
+        displayGrid(model.getGrid());
+    }
 }
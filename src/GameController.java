@@ -7,7 +7,9 @@ public class GameController {
     public GameController(GameModel model, GameView view) {
         this.model = model;
         this.view = view;
-        if (view instanceof Observer) {
+        if (view instanceof GameModelListener) {
+            model.addListener((GameModelListener) view);
+        } else if (view instanceof Observer) {
             model.addObserver((Observer) view);
         }
     }
@@ -19,6 +21,15 @@ public class GameController {
         playGame();
     }
 
+    /**
+     * Starts a game with randomly placed ships and plays it to the end.
+     */
+    public void startRandomGame() {
+        model.initializeGame();
+        view.showMessage("Welcome to Ships! Guess a coordinate.");
+        playGame();
+    }
+
     private void playGame() {
         while (!model.isGameOver()) {
             String input = view.getInput();
@@ -26,21 +37,26 @@ public class GameController {
                 view.showMessage("Game ended by player.");
                 break;
             }
-            boolean hit = model.processGuess(input);
-            if (hit) {
-                view.showMessage("Hit at " + input + "!");
+            handleInput(input);
+        }
+    }
 
-            } else {
-                view.showMessage("Miss at " + input + ".");
-            }
+    /**
+     * Applies one guess and tells the player how it went, including the final
+     * message when it ends the game.
+     * @param input Coordinate such as "B7"
+     */
+    public void handleInput(String input) {
+        boolean hit = model.processGuess(input);
+        if (hit) {
+            view.showMessage("Hit at " + input + "!");
+
+        } else {
+            view.showMessage("Miss at " + input + ".");
         }
         if (model.isGameOver()) {
             view.showMessage("Game Over! You sank all ships in " + model.getShotsNumber() + " shots");
         }
     }
 
-    public void handleInput(String input) {
-        model.processGuess(input);
-    }
-
 }
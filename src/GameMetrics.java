@@ -0,0 +1,259 @@
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Low-overhead counters and histograms for games and views: guesses, hits,
+ * completed games and their shot counts, time spent telling listeners and
+ * observers about a guess, and render time per view type. Everything is recorded
+ * with striped or lock-free accumulators and no allocation, so it is safe to leave
+ * on in busy session hosts. Read it through JMX ({@link #register(String)}), a
+ * {@link MetricsSink} ({@link #startReporting}) or {@link #snapshot()}.
+ *
+ * <p>Models record nothing until given an instance, usually {@link #global()},
+ * with {@link GameModel#setMetrics}. Session hosts such as {@link GameServer}
+ * opt in; simulations and benchmarks pay nothing.</p>
+ */
+public final class GameMetrics implements GameMetricsMXBean {
+    private static final GameMetrics GLOBAL = new GameMetrics();
+    private static final long RATE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final LongAdder guesses = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder gamesCompleted = new LongAdder();
+    private final Histogram shotsPerGame = new Histogram();
+    private final Histogram fanOutNanos = new Histogram();
+    private final ConcurrentMap<String, Histogram> renderNanos = new ConcurrentHashMap<>();
+
+    // Guess rate sampling, only touched when the rate is read.
+    private long windowStart = System.nanoTime();
+    private long windowGuesses;
+    private double lastRate;
+
+    /**
+     * @return The instance views record into, and models that opt in with {@link GameModel#setMetrics}
+     */
+    public static GameMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Counts one guess that was actually applied (not invalid or repeated).
+     * @param hit Whether it hit a ship
+     */
+    void recordGuess(boolean hit) {
+        guesses.increment();
+        if (hit) hits.increment();
+    }
+
+    /**
+     * Counts a batch of applied guesses, e.g. a salvo.
+     */
+    void recordGuesses(int count, int hitCount) {
+        guesses.add(count);
+        hits.add(hitCount);
+    }
+
+    void recordGameCompleted(int shots) {
+        gamesCompleted.increment();
+        shotsPerGame.record(shots);
+    }
+
+    void recordFanOut(long nanos) {
+        fanOutNanos.record(nanos);
+    }
+
+    /**
+     * Gets the render-time histogram for a kind of view. Views look theirs up once
+     * and keep it, so recording a frame costs no map lookup.
+     * @param view Short name of the view type, e.g. "cli"
+     */
+    public Histogram renderTimes(String view) {
+        if (view == null) throw new IllegalArgumentException("View name cannot be null");
+        return renderNanos.computeIfAbsent(view, name -> new Histogram());
+    }
+
+    @Override
+    public long getGuesses() {
+        return guesses.sum();
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public double getHitRatio() {
+        long total = guesses.sum();
+        return total == 0 ? 0.0 : (double) hits.sum() / total;
+    }
+
+    @Override
+    public synchronized double getGuessesPerSecond() {
+        long now = System.nanoTime();
+        long elapsed = now - windowStart;
+        if (elapsed >= RATE_WINDOW_NANOS) {
+            long total = guesses.sum();
+            lastRate = (total - windowGuesses) * 1e9 / elapsed;
+            windowStart = now;
+            windowGuesses = total;
+        }
+        return lastRate;
+    }
+
+    @Override
+    public long getGamesCompleted() {
+        return gamesCompleted.sum();
+    }
+
+    @Override
+    public double getMeanShotsPerGame() {
+        return shotsPerGame.getMean();
+    }
+
+    @Override
+    public long getP99ShotsPerGame() {
+        return shotsPerGame.getValueAtPercentile(99);
+    }
+
+    @Override
+    public double getMeanFanOutNanos() {
+        return fanOutNanos.getMean();
+    }
+
+    @Override
+    public long getP99FanOutNanos() {
+        return fanOutNanos.getValueAtPercentile(99);
+    }
+
+    @Override
+    public Map<String, Long> getP99RenderNanos() {
+        Map<String, Long> result = new TreeMap<>();
+        renderNanos.forEach((view, histogram) -> result.put(view, histogram.getValueAtPercentile(99)));
+        return result;
+    }
+
+    public Histogram getShotsPerGame() {
+        return shotsPerGame;
+    }
+
+    public Histogram getFanOutNanos() {
+        return fanOutNanos;
+    }
+
+    /**
+     * Registers this instance with the platform MBean server as {@code ships:type=GameMetrics,name=<name>}.
+     * @throws IllegalStateException if registration fails, e.g. the name is taken
+     */
+    public void register(String name) {
+        if (name == null) throw new IllegalArgumentException("Name cannot be null");
+        try {
+            ObjectName objectName = new ObjectName("ships:type=GameMetrics,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register metrics as " + name, e);
+        }
+    }
+
+    /**
+     * @return The current values of every counter and histogram
+     */
+    public Snapshot snapshot() {
+        Map<String, Histogram.Summary> renders = new TreeMap<>();
+        renderNanos.forEach((view, histogram) -> renders.put(view, histogram.summary()));
+        return new Snapshot(System.nanoTime(), guesses.sum(), hits.sum(), gamesCompleted.sum(),
+                shotsPerGame.summary(), fanOutNanos.summary(), renders);
+    }
+
+    /**
+     * Hands a snapshot to the sink at a fixed rate on a daemon thread.
+     * @return The reporting thread's executor; shut it down to stop reporting
+     */
+    public ScheduledExecutorService startReporting(MetricsSink sink, long period, TimeUnit unit) {
+        if (sink == null) throw new IllegalArgumentException("Sink cannot be null");
+        if (period <= 0) throw new IllegalArgumentException("Period must be positive: " + period);
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> sink.report(snapshot()), period, period, unit);
+        return reporter;
+    }
+
+    /**
+     * An immutable reading of all metrics. Compare two snapshots for rates.
+     */
+    public static final class Snapshot {
+        private final long timeNanos;
+        private final long guesses;
+        private final long hits;
+        private final long gamesCompleted;
+        private final Histogram.Summary shotsPerGame;
+        private final Histogram.Summary fanOutNanos;
+        private final Map<String, Histogram.Summary> renderNanos;
+
+        Snapshot(long timeNanos, long guesses, long hits, long gamesCompleted, Histogram.Summary shotsPerGame,
+                 Histogram.Summary fanOutNanos, Map<String, Histogram.Summary> renderNanos) {
+            this.timeNanos = timeNanos;
+            this.guesses = guesses;
+            this.hits = hits;
+            this.gamesCompleted = gamesCompleted;
+            this.shotsPerGame = shotsPerGame;
+            this.fanOutNanos = fanOutNanos;
+            this.renderNanos = Collections.unmodifiableMap(renderNanos);
+        }
+
+        public long getGuesses() {
+            return guesses;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public double getHitRatio() {
+            return guesses == 0 ? 0.0 : (double) hits / guesses;
+        }
+
+        public long getGamesCompleted() {
+            return gamesCompleted;
+        }
+
+        public Histogram.Summary getShotsPerGame() {
+            return shotsPerGame;
+        }
+
+        public Histogram.Summary getFanOutNanos() {
+            return fanOutNanos;
+        }
+
+        public Map<String, Histogram.Summary> getRenderNanos() {
+            return renderNanos;
+        }
+
+        /**
+         * @return Guesses per second between an earlier snapshot and this one
+         */
+        public double guessesPerSecondSince(Snapshot earlier) {
+            long elapsed = timeNanos - earlier.timeNanos;
+            return elapsed <= 0 ? 0.0 : (guesses - earlier.guesses) * 1e9 / elapsed;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("guesses=%d hitRatio=%.3f games=%d shotsPerGame[%s] fanOutNanos[%s] renderNanos%s",
+                    guesses, getHitRatio(), gamesCompleted, shotsPerGame, fanOutNanos, renderNanos);
+        }
+    }
+}
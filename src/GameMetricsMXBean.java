@@ -0,0 +1,32 @@
+import java.util.Map;
+
+/**
+ * JMX view of {@link GameMetrics}. Times are in nanoseconds.
+ */
+public interface GameMetricsMXBean {
+    long getGuesses();
+
+    long getHits();
+
+    double getHitRatio();
+
+    /**
+     * @return Guesses per second over the last completed sampling window of at least a second
+     */
+    double getGuessesPerSecond();
+
+    long getGamesCompleted();
+
+    double getMeanShotsPerGame();
+
+    long getP99ShotsPerGame();
+
+    double getMeanFanOutNanos();
+
+    long getP99FanOutNanos();
+
+    /**
+     * @return 99th percentile render time of each view type
+     */
+    Map<String, Long> getP99RenderNanos();
+}
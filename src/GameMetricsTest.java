@@ -0,0 +1,101 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Observer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameMetricsTest {
+
+    @Test
+    public void testHistogramPercentilesStayClose() {
+        Histogram histogram = new Histogram();
+        for (int value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000, histogram.getMax());
+        assertEquals(50_000.5, histogram.getMean(), 1e-9);
+        long p50 = histogram.getValueAtPercentile(50);
+        long p99 = histogram.getValueAtPercentile(99);
+        assertTrue(Math.abs(p50 - 50_000) <= 50_000 / 32, "p50 was " + p50);
+        assertTrue(Math.abs(p99 - 99_000) <= 99_000 / 32, "p99 was " + p99);
+        for (long value : new long[] {0, 1, 63, 64, 65, 1000, 1L << 40, Long.MAX_VALUE}) {
+            assertTrue(Histogram.bucketLimit(Histogram.bucketOf(value)) >= value, "Bucket should cover " + value);
+        }
+    }
+
+    @Test
+    public void testModelRecordsGuessesAndGames() {
+        GameMetrics metrics = new GameMetrics();
+        GameModel model = new GameModel();
+        model.setMetrics(metrics);
+        model.addListener(new GameModelListener() {
+            @Override
+            public void cellChanged(GameModel m, int cell, int oldState, int newState, int sunkShip) {
+            }
+
+            @Override
+            public void boardReset(GameModel m) {
+            }
+        });
+        model.initializeGame();
+        model.fire(-1);
+        for (int cell = 0; cell < 100; cell++) {
+            model.fire(cell);
+        }
+        model.fire(0);
+
+        assertEquals(100, metrics.getGuesses(), "Invalid and repeated guesses should not count");
+        assertEquals(16, metrics.getHits());
+        assertEquals(0.16, metrics.getHitRatio(), 1e-9);
+        assertEquals(1, metrics.getGamesCompleted());
+        assertTrue(metrics.getShotsPerGame().getMax() >= 16);
+        assertEquals(100, metrics.getFanOutNanos().getCount(), "Every applied guess should be timed when listened to");
+    }
+
+    @Test
+    public void testModelsRecordOnlyWhenAskedTo() {
+        GameModel model = new GameModel();
+        model.initializeGame();
+        long before = GameMetrics.global().getGuesses();
+        model.fire(0);
+        assertEquals(before, GameMetrics.global().getGuesses(), "Models should not record by default");
+
+        GameMetrics metrics = new GameMetrics();
+        model.setMetrics(metrics);
+        Observer observer = (o, arg) -> { };
+        model.addObserver(observer);
+        model.fire(1);
+        model.deleteObserver(observer);
+        model.fire(2);
+        assertEquals(2, metrics.getGuesses());
+        assertEquals(1, metrics.getFanOutNanos().getCount(), "Only guesses someone watched should be timed");
+    }
+
+    @Test
+    public void testSinkReceivesSnapshots() throws InterruptedException {
+        GameMetrics metrics = new GameMetrics();
+        metrics.renderTimes("test").record(1500);
+        List<GameMetrics.Snapshot> reports = new ArrayList<>();
+        CountDownLatch reported = new CountDownLatch(1);
+        ScheduledExecutorService reporter = metrics.startReporting(snapshot -> {
+            synchronized (reports) {
+                reports.add(snapshot);
+            }
+            reported.countDown();
+        }, 10, TimeUnit.MILLISECONDS);
+        try {
+            assertTrue(reported.await(5, TimeUnit.SECONDS), "Sink should be called");
+        } finally {
+            reporter.shutdownNow();
+        }
+        synchronized (reports) {
+            assertEquals(1, reports.get(0).getRenderNanos().get("test").getCount());
+        }
+    }
+}
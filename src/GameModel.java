@@ -1,25 +1,87 @@
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Observable;
-import java.util.Random;
+import java.util.Observer;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 public class GameModel extends Observable {
 
+    private final GameRules rules;
+    private final int cols;
+    private final BitBoard shipCells;
+    private final BitBoard shotCells;
+    private final BitBoard sunkCells;
+    private final short[] cellShip;
+    private final int[] shipRemaining;
+    private ValidationMode validationMode;
+    private GameMetrics metrics;
+    private volatile GameModelListener[] listeners;
+    private volatile boolean observed; // whether any Observer is registered; kept by the observer methods
+    private RandomGenerator random;
+    private int[] placementScratch;
+    private final Ship[] shipSlots;
     private int[][] grid;
     private List<Ship> ships;
+    private int shipSquares;
     private int hits;
     private int misses;
-    private static final int GRID_SIZE = 10;
-    private static final int[] SHIP_LENGTHS = {5, 4, 3, 2, 2};
+    private long stateHash;
+    boolean idleInPool; // set while the model waits in a GameModelPool; guarded by this
     public static final int WATER = 0, SHIP = 1, HIT = 2, MISS = 3, SUNK = 4;
-    private static final int TOTAL_SHIP_SQUARES = 17;
+    /** Results of {@link #fire(int)}. */
+    public static final int SHOT_MISS = 0, SHOT_HIT = 1, SHOT_SUNK = 2, SHOT_INVALID = 3, SHOT_REPEAT = 4;
+    private static final int MAX_LAYOUT_ATTEMPTS = 1000;
+    private static final int PLACEMENT_SAMPLES = 32;
 
     public GameModel() {
-        grid = new int[GRID_SIZE][GRID_SIZE];
-        ships = new ArrayList<>();
+        this(GameRules.STANDARD, new SplittableRandom());
+    }
+
+    /**
+     * Creates a model whose random layouts come from the given generator, so a seeded
+     * generator gives a reproducible sequence of games.
+     * @param random Source of randomness for ship placement
+     */
+    public GameModel(RandomGenerator random) {
+        this(GameRules.STANDARD, random);
+    }
+
+    /**
+     * Creates a model for a board and fleet other than the standard one.
+     * @param rules Board dimensions and fleet
+     */
+    public GameModel(GameRules rules) {
+        this(rules, new SplittableRandom());
+    }
+
+    /**
+     * @param rules Board dimensions and fleet
+     * @param random Source of randomness for ship placement
+     */
+    public GameModel(GameRules rules, RandomGenerator random) {
+        if (rules == null) throw new IllegalArgumentException("Rules cannot be null");
+        if (random == null) throw new IllegalArgumentException("Random generator cannot be null");
+        this.rules = rules;
+        this.cols = rules.getCols();
+        this.random = random;
+        int cellCount = rules.getCellCount();
+        int fleetSize = rules.getFleetSize();
+        shipCells = new BitBoard(cellCount);
+        shotCells = new BitBoard(cellCount);
+        sunkCells = new BitBoard(cellCount);
+        cellShip = new short[cellCount];
+        shipRemaining = new int[fleetSize];
+        validationMode = ValidationMode.fromSystemProperty();
+        listeners = new GameModelListener[0];
+        ships = new ArrayList<>(fleetSize);
+        shipSlots = new Ship[fleetSize];
+        for (int i = 0; i < shipSlots.length; i++) {
+            shipSlots[i] = new Ship(0, 0, 0, true);
+        }
         hits = 0;
         misses = 0;
     }
@@ -28,165 +90,208 @@ public class GameModel extends Observable {
      * Initializes a new game by clearing the grid and placing ships randomly.
      */
     void initializeGame(){
-        for (int i = 0; i < GRID_SIZE; i++) {
-            for (int j = 0; j < GRID_SIZE; j++) {
-                grid[i][j] = WATER;
-            }
-        }
-        ships.clear();
-        hits = 0;
-        misses = 0;
+        clearBoard();
         placeShipsRandomly();
-        checkInvariants();
-        notifyModelChanged();
     }
 
     /**
-     * Places ships randomly on the grid without overlap.
+     * Places ships randomly on the grid without overlap. Each ship is drawn uniformly
+     * from the placements that are still free: a few uniform draws over all placements
+     * are tried first, each costing only the ship's length to check, and only if they
+     * all land on other ships are the free placements listed in full. Either way the
+     * pick is uniform over the free placements, and the cost stays flat as the board
+     * grows. If a fleet ever paints itself into a corner the layout is started over.
+     * @throws IllegalStateException if no layout is found after repeated attempts
      */
     void placeShipsRandomly(){
-        Random rand = new Random();
-        for (int shipLength : SHIP_LENGTHS) {
-            boolean placed = false;
-            while (!placed) {
-                int row = rand.nextInt(GRID_SIZE);
-                int col = rand.nextInt(GRID_SIZE);
-                boolean horizontal = rand.nextBoolean();
-                if (canPlaceShip(row, col, shipLength, horizontal)) {
-                    placeShip(row, col, shipLength, horizontal);
-                    placed = true;
+        PlacementTable table = rules.placements();
+        int attempts = 0;
+        int next = 0;
+        while (next < rules.getFleetSize()) {
+            int length = rules.getShipLength(next);
+            int pick = samplePlacement(table, length);
+            if (pick < 0) {
+                if (++attempts >= MAX_LAYOUT_ATTEMPTS) {
+                    throw new IllegalStateException("Could not fit the fleet after " + attempts + " attempts");
                 }
+                clearBoard();
+                next = 0;
+                continue;
             }
+            int start = table.startCell(length, pick);
+            placeShip(start / cols, start % cols, length, table.isHorizontal(length, pick));
+            next++;
         }
         checkInvariants();
-        notifyModelChanged();
+        notifyBoardReset();
+    }
+
+    /**
+     * @return A placement index drawn uniformly from the free placements, or -1 if there are none
+     */
+    private int samplePlacement(PlacementTable table, int length) {
+        int count = table.count(length);
+        for (int i = 0; i < PLACEMENT_SAMPLES; i++) {
+            int pick = random.nextInt(count);
+            if (table.isFree(length, pick, shipCells)) {
+                return pick;
+            }
+        }
+        if (placementScratch == null || placementScratch.length < count) {
+            placementScratch = new int[count];
+        }
+        int free = table.compatible(length, shipCells, placementScratch);
+        return free == 0 ? -1 : placementScratch[random.nextInt(free)];
     }
 
     private boolean canPlaceShip(int row, int col, int length, boolean horizontal) {
-        if(row < 0 || col < 0 || length <= 0){
+        int start = rules.cellOf(row, col);
+        if (start < 0 || !rules.fits(start, length, horizontal)) {
             return false;
         }
-        if (horizontal) {
-            if (col + length > GRID_SIZE) return false;
-            for (int c = col; c < col + length; c++) {
-                if (grid[row][c] != WATER) return false;
-            }
-        } else {
-            if (row + length > GRID_SIZE) return false;
-            for (int r = row; r < row + length; r++) {
-                if (grid[r][col] != WATER) return false;
-            }
+        int step = horizontal ? 1 : cols;
+        for (int i = 0, cell = start; i < length; i++, cell += step) {
+            if (shipCells.get(cell)) return false;
         }
         return true;
     }
 
     private void placeShip(int row, int col, int length, boolean horizontal) {
-        assert canPlaceShip(row, col, length, horizontal) : "Invalid ship placement";
-        if(row < 0 || col < 0 || row >= GRID_SIZE || col >= GRID_SIZE || length <= 0){
+        if (rules.cellOf(row, col) < 0 || length <= 0) {
             throw new IllegalArgumentException("Invalid ship placement parameters");
         }
-        Ship ship = new Ship(row, col, length, horizontal);
+        if (ships.size() >= shipSlots.length) {
+            throw new IllegalArgumentException("Cannot place more than " + shipSlots.length + " ships");
+        }
+        Ship ship = shipSlots[ships.size()].place(row, col, length, horizontal);
         ships.add(ship);
-        if (horizontal) {
-            for (int c = col; c < col + length; c++) {
-                grid[row][c] = SHIP;
-            }
-        } else {
-            for (int r = row; r < row + length; r++) {
-                grid[r][col] = SHIP;
-            }
+        shipRemaining[ships.size() - 1] = length;
+        shipSquares += length;
+        short shipId = (short) ships.size();
+        int step = horizontal ? 1 : cols;
+        for (int i = 0, cell = row * cols + col; i < length; i++, cell += step) {
+            shipCells.set(cell);
+            cellShip[cell] = shipId;
+            refreshCell(cell);
         }
     }
 
     /**
-     * Loads ship positions from a file and places them on the grid.
-     * @param file Path to the ship configuration file
-     * @throws IllegalArgumentException if file format or ship placement is invalid
-     * @throws RuntimeException if file reading fails
+     * Clears the board back to open water with no ships, hits or misses, as a
+     * freshly constructed model. Nothing is allocated: bitboards are zeroed, only
+     * the cells of the old ships are wiped from the ship index, and Ship objects
+     * are kept for reuse, so Ship references from the previous game must not be
+     * held across a reset. Listeners, observers and the validation mode are kept.
      */
-    public void loadShipsFromFile(String file){
-        if (file == null || file.trim().isEmpty()) {
-            throw new IllegalArgumentException("File path cannot be null or empty");
+    public void reset() {
+        clearBoard();
+        checkInvariants();
+        notifyBoardReset();
+    }
+
+    private void clearBoard() {
+        for (int i = 0; i < ships.size(); i++) {
+            clearShipCells(ships.get(i));
         }
-        for (int i = 0; i < GRID_SIZE; i++) {
-            for (int j = 0; j < GRID_SIZE; j++) {
-                grid[i][j] = WATER;
+        if (grid != null) {
+            // Besides ship cells, only missed cells can differ from WATER.
+            for (int cell = shotCells.nextSetBit(0); cell >= 0; cell = shotCells.nextSetBit(cell + 1)) {
+                grid[cell / cols][cell % cols] = WATER;
             }
         }
+        shipCells.clear();
+        shotCells.clear();
+        sunkCells.clear();
         ships.clear();
+        shipSquares = 0;
         hits = 0;
         misses = 0;
+        stateHash = 0;
+    }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                System.out.println(line);
-                if (line.isEmpty()) continue;
-
-                String[] parts = line.split(",");
-                if (parts.length != 3) {
-                    throw new IllegalArgumentException("Invalid ship format in file: " + line);
-                }
+    private void clearShipCells(Ship ship) {
+        int step = ship.isHorizontal() ? 1 : cols;
+        int cell = ship.getStartRow() * cols + ship.getStartCol();
+        for (int i = 0; i < ship.getLength(); i++, cell += step) {
+            cellShip[cell] = 0;
+            if (grid != null) grid[cell / cols][cell % cols] = WATER;
+        }
+    }
 
-                String position = parts[0].trim().toUpperCase();
-                if (!position.matches("[A-J](10|[1-9])")) {
-                    throw new IllegalArgumentException("Invalid position: " + position);
-                }
-                int row = position.charAt(0) - 'A';
-                int col = Integer.parseInt(position.substring(1)) - 1;
+    /**
+     * Starts building a layout by hand: clears the board without telling anyone.
+     * Follow with {@link #addShip}, optionally {@link #restoreShot}, and finish with
+     * {@link #completeLayout()}. Used by snapshot restore and replay.
+     */
+    void beginLayout() {
+        clearBoard();
+    }
 
-                int length = Integer.parseInt(parts[1].trim());
-                if (length < 2 || length > 5) {
-                    throw new IllegalArgumentException("Invalid ship length: " + length);
-                }
+    /**
+     * Adds a ship to a layout started with {@link #beginLayout()}.
+     * @throws IllegalArgumentException if the ship is out of bounds, overlaps another or the fleet is full
+     */
+    void addShip(int row, int col, int length, boolean horizontal) {
+        if (!canPlaceShip(row, col, length, horizontal)) {
+            throw new IllegalArgumentException("Cannot place ship at " + row + "," + col + ": out of bounds or overlap");
+        }
+        placeShip(row, col, length, horizontal);
+    }
 
-                String orientation = parts[2].trim().toUpperCase();
-                boolean horizontal = orientation.equals("H");
-                if (!horizontal && !orientation.equals("V")) {
-                    throw new IllegalArgumentException("Invalid orientation: " + orientation);
-                }
+    /**
+     * Marks a cell as already fired at while building a layout, without notifying anyone.
+     * @return SHOT_MISS, SHOT_HIT, SHOT_SUNK, or SHOT_INVALID/SHOT_REPEAT if it could not be applied
+     */
+    int restoreShot(int cell) {
+        if (!rules.isCell(cell)) return SHOT_INVALID;
+        if (shotCells.get(cell)) return SHOT_REPEAT;
+        return shoot(cell, false);
+    }
 
-                if (!canPlaceShip(row, col, length, horizontal)) {
-                    throw new IllegalArgumentException("Cannot place ship at " + position + ": out of bounds or overlap");
-                }
-                placeShip(row, col, length, horizontal);
-            }
+    /**
+     * Finishes a layout built with {@link #beginLayout()} and tells listeners and observers.
+     */
+    void completeLayout() {
+        checkInvariants();
+        notifyBoardReset();
+    }
 
-            if (ships.size() != SHIP_LENGTHS.length) {
-                throw new IllegalArgumentException("File must contain exactly " + SHIP_LENGTHS.length + " ships");
+    /**
+     * Loads ship positions from a file and places them on the grid.
+     * @param file Path to the ship configuration file
+     * @throws IllegalArgumentException if file format or ship placement is invalid
+     * @throws RuntimeException if file reading fails
+     */
+    public void loadShipsFromFile(String file){
+        if (file == null || file.trim().isEmpty()) {
+            throw new IllegalArgumentException("File path cannot be null or empty");
+        }
+        Layout layout = new Layout(rules);
+        try (LayoutReader reader = LayoutReader.open(Path.of(file), rules)) {
+            if (!reader.next(layout) || reader.next(new Layout(rules))) {
+                throw new IllegalArgumentException("File must contain exactly " + rules.getFleetSize() + " ships");
             }
         } catch (IOException e) {
             throw new RuntimeException("Error reading ship configuration file: " + file, e);
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("Invalid number format in file: " + file, e);
         }
-        checkInvariants();
-        notifyModelChanged();
+        layout.applyTo(this);
     }
 
     /**
      * Marks a sunk ship's positions on the grid as sunk.
-     * @param ship The ship to mark as sunk
-     * @throws IllegalArgumentException if ship is null
-     */
-    private void markSunkShip(Ship ship) {
-        if (ship == null) throw new IllegalArgumentException("Ship cannot be null");
-        int row = ship.getStartRow();
-        int col = ship.getStartCol();
-        int length = ship.getLength();
-        boolean horizontal = ship.isHorizontal();
-        if (horizontal) {
-            for (int c = col; c < col + length; c++) {
-                if (grid[row][c] == HIT) {
-                    grid[row][c] = SUNK;
-                }
-            }
-        } else {
-            for (int r = row; r < row + length; r++) {
-                if (grid[r][col] == HIT) {
-                    grid[r][col] = SUNK;
-                }
+     * @param shipIndex Index of the ship to mark as sunk
+     * @param sinkingCell The guessed cell that sank it, which has already been marked
+     * @param publish Whether to tell listeners about each cell
+     */
+    private void markSunkShip(int shipIndex, int sinkingCell, boolean publish) {
+        Ship ship = ships.get(shipIndex);
+        int step = ship.isHorizontal() ? 1 : cols;
+        int cell = ship.getStartRow() * cols + ship.getStartCol();
+        for (int i = 0; i < ship.getLength(); i++, cell += step) {
+            if (cell != sinkingCell) {
+                sunkCells.set(cell);
+                refreshCell(cell);
+                if (publish) fireCellChanged(cell, HIT, SUNK, shipIndex);
             }
         }
     }
@@ -197,35 +302,146 @@ public class GameModel extends Observable {
      * @return true if the guess hits a ship, false otherwise
      */
     public boolean processGuess(String guess){
-        if (guess == null || !guess.matches("[A-J](10|[1-9])")) {
-            return false;
+        int cell = rules.parseCell(guess);
+        return cell >= 0 && processGuess(cell);
+    }
+
+    /**
+     * Processes a guess given as zero-based row and column.
+     * @return true if the guess hits a ship, false otherwise (including out-of-range or repeated guesses)
+     */
+    public boolean processGuess(int row, int col){
+        int cell = rules.cellOf(row, col);
+        return cell >= 0 && processGuess(cell);
+    }
+
+    /**
+     * Processes a guess given as a cell index ({@code row * cols + col}).
+     * @return true if the guess hits a ship, false otherwise (including out-of-range or repeated guesses)
+     */
+    public boolean processGuess(int cell){
+        int result = fire(cell);
+        return result == SHOT_HIT || result == SHOT_SUNK;
+    }
+
+    /**
+     * Fires at a cell and reports exactly what happened.
+     * @param cell Cell index ({@code row * cols + col})
+     * @return SHOT_MISS, SHOT_HIT, SHOT_SUNK, SHOT_INVALID (out of range) or SHOT_REPEAT (already guessed)
+     */
+    public int fire(int cell){
+        if (!rules.isCell(cell)) {
+            return SHOT_INVALID;
         }
-        int row = guess.charAt(0) - 'A';
-        int col = Integer.parseInt(guess.substring(1)) - 1;
-        if (row < 0 || row >= GRID_SIZE || col < 0 || col >= GRID_SIZE || grid[row][col] > 1) {
-            return false;
+        if (shotCells.get(cell)) {
+            return SHOT_REPEAT;
         }
-        boolean hit = false;
-        if (grid[row][col] == SHIP) {
-            grid[row][col] = HIT;
-            hits++;
-            assert hits >= 0 : "Hits cannot be negative";
-            for (Ship ship : ships) {
-                if (ship.isHit(row, col)) {
-                    if (ship.isSunk()) {
-                        markSunkShip(ship);
-                    }
-                    hit = true;
-                    break;
+        GameMetrics metrics = this.metrics;
+        // Only time the publication when someone is listening; otherwise there is nothing to measure.
+        long start = metrics != null && hasSubscribers() ? System.nanoTime() : 0L;
+        int result = shoot(cell, true);
+        if (validationMode == ValidationMode.INCREMENTAL) {
+            checkMove(cell);
+        } else if (validationMode == ValidationMode.FULL) {
+            checkInvariants();
+        }
+        notifyModelChanged();
+        if (metrics != null) {
+            if (start != 0L) metrics.recordFanOut(System.nanoTime() - start);
+            metrics.recordGuess(result != SHOT_MISS);
+            if (result == SHOT_SUNK && hits == shipSquares) {
+                metrics.recordGameCompleted(hits + misses);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Fires a whole salvo in one pass. Listeners still get every per-cell event, but
+     * validation runs once for the salvo (per shot cell in INCREMENTAL mode) and
+     * observers are notified once at the end instead of after every shot. Cells
+     * repeated within the salvo count as repeats.
+     * @param cells Cell indices ({@code row * cols + col}) to fire at, in order
+     * @param resultsOut Receives the result of each shot as in {@link #fire(int)}; at least as long as {@code cells}
+     * @return Number of shots that hit a ship
+     */
+    public int processGuesses(int[] cells, byte[] resultsOut) {
+        if (cells == null || resultsOut == null) throw new IllegalArgumentException("Cells and results cannot be null");
+        if (resultsOut.length < cells.length) {
+            throw new IllegalArgumentException("Results array holds " + resultsOut.length + " entries, salvo has " + cells.length);
+        }
+        int hitCount = 0;
+        int applied = 0;
+        boolean wasOver = isGameOver();
+        GameMetrics metrics = this.metrics;
+        long start = metrics != null && hasSubscribers() ? System.nanoTime() : 0L;
+        for (int i = 0; i < cells.length; i++) {
+            int cell = cells[i];
+            int result;
+            if (!rules.isCell(cell)) {
+                result = SHOT_INVALID;
+            } else if (shotCells.get(cell)) {
+                result = SHOT_REPEAT;
+            } else {
+                result = shoot(cell, true);
+                applied++;
+                if (validationMode == ValidationMode.INCREMENTAL) {
+                    checkMove(cell);
                 }
+                if (result != SHOT_MISS) {
+                    hitCount++;
+                }
+            }
+            resultsOut[i] = (byte) result;
+        }
+        if (applied > 0) {
+            if (validationMode == ValidationMode.FULL) {
+                checkInvariants();
+            }
+            notifyModelChanged();
+            if (metrics != null) {
+                if (start != 0L) metrics.recordFanOut(System.nanoTime() - start);
+                metrics.recordGuesses(applied, hitCount);
+                if (!wasOver && isGameOver()) {
+                    metrics.recordGameCompleted(hits + misses);
+                }
+            }
+        }
+        return hitCount;
+    }
+
+    /**
+     * Marks an unshot, in-range cell as shot and updates counters and sunk state.
+     * @param publish Whether to send cell events to listeners
+     * @return SHOT_MISS, SHOT_HIT or SHOT_SUNK
+     */
+    private int shoot(int cell, boolean publish) {
+        shotCells.set(cell);
+        int result;
+        int shipIndex = cellShip[cell] - 1;
+        if (shipIndex >= 0) {
+            hits++;
+            if (--shipRemaining[shipIndex] == 0) {
+                result = SHOT_SUNK;
+                stateHash ^= Zobrist.cell(cell, SUNK) ^ Zobrist.sinking(ships.get(shipIndex), cols, cell);
+                sunkCells.set(cell);
+                refreshCell(cell);
+                if (publish) fireCellChanged(cell, SHIP, SUNK, shipIndex);
+                markSunkShip(shipIndex, cell, publish);
+            } else {
+                result = SHOT_HIT;
+                stateHash ^= Zobrist.cell(cell, HIT);
+                refreshCell(cell);
+                if (publish) fireCellChanged(cell, SHIP, HIT, GameModelListener.NO_SHIP);
             }
         } else {
-            grid[row][col] = MISS;
+            result = SHOT_MISS;
             misses++;
+            stateHash ^= Zobrist.cell(cell, MISS);
+            refreshCell(cell);
+            if (publish) fireCellChanged(cell, WATER, MISS, GameModelListener.NO_SHIP);
         }
-        checkInvariants();
-        notifyModelChanged();
-        return hit;
+        return result;
     }
 
     /**
@@ -233,54 +449,325 @@ public class GameModel extends Observable {
      * @return true if all ships are sunk, false otherwise
      */
     public boolean isGameOver() {
-        assert hits >= 0 : "Hits cannot be negative";
-        return hits == ships.stream().mapToInt(Ship::getLength).sum();
+        // Cells are never shot twice, so every ship square has been hit exactly when the counts match.
+        return hits == shipSquares;
+    }
+
+    /**
+     * Gets a Zobrist hash of what the player has been told so far: the state of
+     * every fired-at cell and where each sunk ship lay. It is kept up to date as
+     * shots land, so reading it is free. Equal positions reached by different shot
+     * orders, or in different games, hash the same.
+     * @return The position's hash; 0 before the first shot
+     */
+    public long getStateHash() {
+        return stateHash;
+    }
+
+    /**
+     * Gets the state of a cell as a player sees it: unguessed ship cells read as WATER.
+     * @param cell Cell index ({@code row * cols + col})
+     * @return One of WATER, HIT, MISS or SUNK
+     */
+    int getVisibleState(int cell) {
+        int state = getCellState(cell);
+        return state == SHIP ? WATER : state;
     }
 
     /**
-     * Gets the current game grid.
-     * @return The 10x10 grid array
+     * Gets the ship occupying a cell, without touching any game state.
+     * @param cell Cell index ({@code row * cols + col})
+     * @return The ship at that cell, or null for open water
+     */
+    Ship getShipAt(int cell) {
+        int shipIndex = cellShip[cell] - 1;
+        return shipIndex >= 0 ? ships.get(shipIndex) : null;
+    }
+
+    /**
+     * Checks whether every cell of a ship has been hit.
+     * @param ship A ship from {@link #getShips()}
+     * @return true if the ship is sunk
+     * @throws IllegalArgumentException if the ship is not on this board
+     */
+    boolean isSunk(Ship ship) {
+        int shipIndex = ships.indexOf(ship);
+        if (shipIndex < 0) throw new IllegalArgumentException("Ship is not on this board");
+        return shipRemaining[shipIndex] == 0;
+    }
+
+    /**
+     * Gets the state of a single cell straight from the bitboards.
+     * @param cell Cell index ({@code row * cols + col})
+     * @return One of WATER, SHIP, HIT, MISS or SUNK
+     */
+    int getCellState(int cell) {
+        if (sunkCells.get(cell)) return SUNK;
+        if (shotCells.get(cell)) return shipCells.get(cell) ? HIT : MISS;
+        return shipCells.get(cell) ? SHIP : WATER;
+    }
+
+    /**
+     * Gets the current game grid. The array is built from the bitboards on first
+     * request and kept in step with them afterwards, so callers that never ask for
+     * it never pay for it.
+     * @return The grid array, indexed {@code [row][col]}
      */
     int[][] getGrid(){
-        checkInvariants();
+        if (grid == null) {
+            grid = new int[rules.getRows()][cols];
+            for (int cell = 0; cell < rules.getCellCount(); cell++) {
+                grid[cell / cols][cell % cols] = getCellState(cell);
+            }
+        }
+        if (validationMode == ValidationMode.FULL) {
+            checkInvariants();
+        }
         return grid;
     }
 
+    /**
+     * Copies the state of one cell into the grid view, if it has been materialised.
+     */
+    private void refreshCell(int cell) {
+        if (grid != null) {
+            grid[cell / cols][cell % cols] = getCellState(cell);
+        }
+    }
+
+    /**
+     * @return Board dimensions and fleet this model plays by
+     */
+    public GameRules getRules() {
+        return rules;
+    }
+
     /**
      * Gets a copy of the ship list.
      * @return List of ships
      */
     public List<Ship> getShips(){
-        checkInvariants();
+        if (validationMode == ValidationMode.FULL) {
+            checkInvariants();
+        }
         return ships;
     }
 
+    /**
+     * Replaces the source of randomness used for ship placement.
+     * @param random Generator to use, e.g. a seeded one for reproducible benchmarks
+     */
+    public void setRandom(RandomGenerator random) {
+        if (random == null) throw new IllegalArgumentException("Random generator cannot be null");
+        this.random = random;
+    }
+
+    /**
+     * Sets where guesses, completed games and publication times are recorded.
+     * Nothing is recorded until this is called, e.g. with {@link GameMetrics#global()}.
+     * @param metrics Metrics to record into, or null to record nothing
+     */
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public ValidationMode getValidationMode() {
+        return validationMode;
+    }
+
+    /**
+     * Sets how much invariant checking is done after each change.
+     * @param validationMode OFF, INCREMENTAL or FULL
+     */
+    public void setValidationMode(ValidationMode validationMode) {
+        if (validationMode == null) throw new IllegalArgumentException("Validation mode cannot be null");
+        this.validationMode = validationMode;
+    }
+
     public int getShotsNumber(){
         return (hits + misses);
     }
 
     /**
-     * Notifies observers with the current grid state.
+     * Registers a listener for per-cell change events.
+     * @param listener Listener to add
+     */
+    public synchronized void addListener(GameModelListener listener) {
+        if (listener == null) throw new IllegalArgumentException("Listener cannot be null");
+        GameModelListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * Removes a listener added with {@link #addListener}.
+     * @param listener Listener to remove
+     */
+    public synchronized void removeListener(GameModelListener listener) {
+        GameModelListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                GameModelListener[] updated = new GameModelListener[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                listeners = updated;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Detaches every listener and observer, e.g. before handing the model to someone else.
+     */
+    public synchronized void removeAllListeners() {
+        listeners = new GameModelListener[0];
+        deleteObservers();
+    }
+
+    @Override
+    public synchronized void addObserver(Observer o) {
+        super.addObserver(o);
+        observed = countObservers() != 0;
+    }
+
+    @Override
+    public synchronized void deleteObserver(Observer o) {
+        super.deleteObserver(o);
+        observed = countObservers() != 0;
+    }
+
+    @Override
+    public synchronized void deleteObservers() {
+        super.deleteObservers();
+        observed = false;
+    }
+
+    private boolean hasSubscribers() {
+        return listeners.length != 0 || observed;
+    }
+
+    private void fireCellChanged(int cell, int oldState, int newState, int sunkShip) {
+        for (GameModelListener listener : listeners) {
+            listener.cellChanged(this, cell, oldState, newState, sunkShip);
+        }
+    }
+
+    /**
+     * Tells listeners and observers that the whole board was replaced.
+     */
+    private void notifyBoardReset() {
+        for (GameModelListener listener : listeners) {
+            listener.boardReset(this);
+        }
+        notifyModelChanged();
+    }
+
+    /**
+     * Notifies observers with the current grid state. This is the legacy
+     * whole-grid broadcast, kept for Observer-based views on top of the
+     * per-cell listener events.
      */
     private void notifyModelChanged(){
+        if (!observed) {
+            return;
+        }
         setChanged();
         notifyObservers(getGrid());
     }
 
+    /**
+     * Validates the board after a layout change: counters always, the whole board in FULL mode.
+     */
     private void checkInvariants() {
-        assert hits >= 0 : "Hits cannot be negative: " + hits;
-        assert misses >= 0 : "Misses cannot be negative: " + misses;
-
-        assert hits <= TOTAL_SHIP_SQUARES : "Hits (" + hits + ") cannot exceed total ship squares (" + TOTAL_SHIP_SQUARES + ")";
+        if (validationMode == ValidationMode.OFF) {
+            return;
+        }
+        checkCounters();
+        if (ships.size() > rules.getFleetSize()) {
+            fail("Too many ships: " + ships.size() + " (expected " + rules.getFleetSize() + ")");
+        }
+        int totalShipLength = 0;
+        for (Ship ship : ships) {
+            totalShipLength += ship.getLength();
+        }
+        if (totalShipLength != shipSquares) {
+            fail("Ship square count (" + shipSquares + ") does not match the fleet (" + totalShipLength + ")");
+        }
+        if (totalShipLength != shipCells.cardinality()) {
+            fail("Ships overlap: " + totalShipLength + " ship squares on " + shipCells.cardinality() + " cells");
+        }
+        if (validationMode != ValidationMode.FULL) {
+            return;
+        }
+        if (hits != shotCells.countCommon(shipCells)) {
+            fail("Hits (" + hits + ") do not match hit cells on the board");
+        }
+        if (!shotCells.containsAll(sunkCells) || !shipCells.containsAll(sunkCells)) {
+            fail("Sunk cells must also be hit cells");
+        }
+        for (int cell = 0; cell < rules.getCellCount(); cell++) {
+            if ((cellShip[cell] != 0) != shipCells.get(cell)) {
+                fail("Ship index out of step with the board at cell " + cell);
+            }
+        }
+        long expectedHash = 0;
+        for (int cell = shotCells.nextSetBit(0); cell >= 0; cell = shotCells.nextSetBit(cell + 1)) {
+            expectedHash ^= Zobrist.cell(cell, getCellState(cell));
+        }
+        for (int i = 0; i < ships.size(); i++) {
+            Ship ship = ships.get(i);
+            int stride = ship.isHorizontal() ? 1 : cols;
+            int afloat = 0;
+            for (int k = 0, cell = ship.getStartRow() * cols + ship.getStartCol(); k < ship.getLength(); k++, cell += stride) {
+                if (!shotCells.get(cell)) afloat++;
+            }
+            if (afloat != shipRemaining[i]) {
+                fail("Ship " + i + " has " + shipRemaining[i] + " cells left on record but " + afloat + " on the board");
+            }
+            if (afloat == 0) expectedHash ^= Zobrist.sunkShip(ship, cols);
+        }
+        if (expectedHash != stateHash) {
+            fail("State hash out of step with the board");
+        }
+    }
 
-        for (int i = 0; i < GRID_SIZE; i++) {
-            for (int j = 0; j < GRID_SIZE; j++) {
-                assert grid[i][j] >= 0 && grid[i][j] <= 4 : "Invalid grid value at [" + i + "," + j + "]: " + grid[i][j];
+    /**
+     * Validates only what the guess at {@code cell} could have changed.
+     */
+    private void checkMove(int cell) {
+        checkCounters();
+        if (!shotCells.get(cell)) {
+            fail("Guessed cell " + cell + " is not marked as shot");
+        }
+        int shipIndex = cellShip[cell] - 1;
+        if (shipIndex >= 0) {
+            if (!shipCells.get(cell)) {
+                fail("Ship index points at open water at cell " + cell);
             }
+            int remaining = shipRemaining[shipIndex];
+            if (remaining < 0) {
+                fail("Ship " + shipIndex + " has negative remaining cells: " + remaining);
+            }
+            if ((remaining == 0) != sunkCells.get(cell)) {
+                fail("Sunk state of cell " + cell + " does not match ship " + shipIndex);
+            }
+        } else if (shipCells.get(cell) || sunkCells.get(cell)) {
+            fail("Missed cell " + cell + " is marked as part of a ship");
         }
+    }
+
+    private void checkCounters() {
+        if (hits < 0) fail("Hits cannot be negative: " + hits);
+        if (misses < 0) fail("Misses cannot be negative: " + misses);
+        if (hits > shipSquares) {
+            fail("Hits (" + hits + ") cannot exceed ship squares on the board (" + shipSquares + ")");
+        }
+        if (hits + misses != shotCells.cardinality()) {
+            fail("Shot count (" + (hits + misses) + ") does not match shot cells on the board");
+        }
+    }
 
-        assert ships.size() <= SHIP_LENGTHS.length : "Too many ships: " + ships.size() + " (expected " + SHIP_LENGTHS.length + ")";
-        int totalShipLength = ships.stream().mapToInt(Ship::getLength).sum();
-        assert totalShipLength <= TOTAL_SHIP_SQUARES : "Total ship length (" + totalShipLength + ") exceeds expected (" + TOTAL_SHIP_SQUARES + ")";
+    private static void fail(String message) {
+        throw new AssertionError(message);
     }
 }
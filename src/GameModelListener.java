@@ -0,0 +1,27 @@
+/**
+ * Receives fine-grained change events from a GameModel. Unlike the Observer
+ * broadcast, each event describes only the cell that changed, so listeners can
+ * patch their view instead of redrawing the whole board.
+ */
+public interface GameModelListener {
+
+    /** Value of {@code sunkShip} when the change did not sink a ship. */
+    int NO_SHIP = -1;
+
+    /**
+     * Called once per cell whose state changed. A guess that sinks a ship produces one
+     * event for the guessed cell followed by one for each of the ship's other cells.
+     * @param model The model that changed
+     * @param cell Cell index ({@code row * rules.getCols() + col})
+     * @param oldState State before the change (WATER, SHIP, HIT, ...)
+     * @param newState State after the change
+     * @param sunkShip Index in {@link GameModel#getShips()} of the ship sunk by this change, or NO_SHIP
+     */
+    void cellChanged(GameModel model, int cell, int oldState, int newState, int sunkShip);
+
+    /**
+     * Called when the whole board was replaced, e.g. a new game was set up.
+     * @param model The model that changed
+     */
+    void boardReset(GameModel model);
+}
@@ -0,0 +1,102 @@
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A bounded pool of reusable GameModels. Models are handed out empty (no ships,
+ * no listeners) and are reset when given back, so steady-state play creates no
+ * new models and no garbage. Safe for use from many threads.
+ */
+public class GameModelPool {
+    private final BlockingQueue<GameModel> idle;
+    private final GameRules rules;
+    private final ValidationMode validationMode;
+
+    /**
+     * @param capacity Maximum number of idle models kept
+     * @param preallocate Number of models to create up front
+     * @param validationMode Validation mode for every model from this pool
+     */
+    public GameModelPool(int capacity, int preallocate, ValidationMode validationMode) {
+        this(GameRules.STANDARD, capacity, preallocate, validationMode);
+    }
+
+    /**
+     * @param rules Board and fleet of every model from this pool
+     * @param capacity Maximum number of idle models kept
+     * @param preallocate Number of models to create up front
+     * @param validationMode Validation mode for every model from this pool
+     */
+    public GameModelPool(GameRules rules, int capacity, int preallocate, ValidationMode validationMode) {
+        if (rules == null) throw new IllegalArgumentException("Rules cannot be null");
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        if (preallocate < 0 || preallocate > capacity) {
+            throw new IllegalArgumentException("Preallocate must be between 0 and capacity: " + preallocate);
+        }
+        if (validationMode == null) throw new IllegalArgumentException("Validation mode cannot be null");
+        this.idle = new ArrayBlockingQueue<>(capacity);
+        this.rules = rules;
+        this.validationMode = validationMode;
+        for (int i = 0; i < preallocate; i++) {
+            idle.offer(newModel());
+        }
+    }
+
+    public GameModelPool(int capacity) {
+        this(capacity, 0, ValidationMode.fromSystemProperty());
+    }
+
+    /**
+     * Takes an idle model, or creates one if the pool is empty.
+     * @return An empty model; call initializeGame or loadShipsFromFile to set up a game
+     */
+    public GameModel acquire() {
+        GameModel model = idle.poll();
+        if (model == null) {
+            return newModel();
+        }
+        synchronized (model) {
+            model.idleInPool = false;
+        }
+        return model;
+    }
+
+    /**
+     * Gives a model back. It is detached from its listeners, observers and metrics and reset;
+     * if the pool is already full it is left for the garbage collector.
+     * @param model A model obtained from {@link #acquire()}
+     * @throws IllegalStateException if the model was already given back and not acquired since
+     */
+    public void release(GameModel model) {
+        if (model == null) throw new IllegalArgumentException("Model cannot be null");
+        synchronized (model) {
+            if (model.idleInPool) throw new IllegalStateException("Model was already released");
+            model.idleInPool = true;
+        }
+        model.removeAllListeners();
+        model.setMetrics(null);
+        model.reset();
+        model.setValidationMode(validationMode);
+        if (!idle.offer(model)) {
+            synchronized (model) {
+                model.idleInPool = false; // left for the garbage collector, so it may be released elsewhere
+            }
+        }
+    }
+
+    public GameRules getRules() {
+        return rules;
+    }
+
+    /**
+     * @return Number of models currently waiting in the pool
+     */
+    public int idleCount() {
+        return idle.size();
+    }
+
+    private GameModel newModel() {
+        GameModel model = new GameModel(rules);
+        model.setValidationMode(validationMode);
+        return model;
+    }
+}
@@ -3,7 +3,10 @@ import org.junit.jupiter.api.Test;
 
 import java.io.FileWriter;
 import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -93,4 +96,198 @@ public class GameModelTest {
         assertEquals(1, grid[2][2], "Ship at C3 (vertical) should be present");
         assertEquals(1, grid[5][2], "Ship at C3 (length 4, vertical) should extend to F3");
     }
+
+    @Test
+    public void testCellStateMatchesGrid() {
+        int[][] grid = model.getGrid();
+        String missGuess = null;
+        for (int i = 0; i < 10 && missGuess == null; i++) {
+            for (int j = 0; j < 10; j++) {
+                if (grid[i][j] == 0) {
+                    missGuess = "" + (char)('A' + i) + (j + 1);
+                    break;
+                }
+            }
+        }
+
+        assertNotNull(missGuess, "Should find at least one water position");
+        assertFalse(model.processGuess(missGuess), "Guessing water should be a miss");
+        assertFalse(model.processGuess(missGuess), "Repeating a guess should not count as a hit");
+        assertEquals(1, model.getShotsNumber(), "Repeated guess should not be counted as a shot");
+        for (int cell = 0; cell < 100; cell++) {
+            assertEquals(grid[cell / 10][cell % 10], model.getCellState(cell), "Grid view should match cell " + cell);
+        }
+    }
+
+    @Test
+    public void testSinkingShipMarksAllItsCells() {
+        GameModel model = new GameModel();
+        placeFleet(model);
+
+        Ship ship = model.getShipAt(6 * 10 + 6);
+        assertNotNull(ship, "G7 should be covered by a ship");
+        assertSame(ship, model.getShipAt(7 * 10 + 6), "G7 and H7 should belong to the same ship");
+        assertFalse(model.isSunk(ship), "Looking a ship up must not count as a hit");
+
+        assertTrue(model.processGuess("G7"));
+        assertEquals(2, model.getCellState(6 * 10 + 6), "First hit should not sink the ship");
+        assertTrue(model.processGuess("H7"));
+        assertTrue(model.isSunk(ship), "Ship should be sunk once every cell is hit");
+        assertEquals(4, model.getCellState(6 * 10 + 6), "G7 should be marked sunk");
+        assertEquals(4, model.getCellState(7 * 10 + 6), "H7 should be marked sunk");
+        assertEquals(1, model.getCellState(8 * 10 + 8), "Other ships should be untouched");
+    }
+
+    @Test
+    public void testValidationModesPlayWholeGame() {
+        for (ValidationMode mode : ValidationMode.values()) {
+            GameModel model = new GameModel();
+            model.setValidationMode(mode);
+            model.initializeGame();
+            for (int cell = 0; cell < 100; cell++) {
+                model.processGuess(cell);
+            }
+            assertTrue(model.isGameOver(), "Game should be over in " + mode + " mode");
+            assertEquals(100, model.getShotsNumber());
+        }
+    }
+
+    @Test
+    public void testValidationModesDetectCorruptedState() throws ReflectiveOperationException {
+        boolean assertionsEnabled = false;
+        assert assertionsEnabled = true;
+        if (assertionsEnabled && System.getProperty("ships.validation") == null) {
+            assertEquals(ValidationMode.INCREMENTAL, new GameModel().getValidationMode(), "FULL should be opt-in only");
+        }
+        for (ValidationMode mode : ValidationMode.values()) {
+            // A1 is ship 0, A6 is open water.
+            GameModel badIndex = corruptibleModel(mode);
+            ((short[]) privateField("cellShip").get(badIndex))[5] = 1;
+            GameModel badCount = corruptibleModel(mode);
+            ((int[]) privateField("shipRemaining").get(badCount))[0] = 0;
+            if (mode == ValidationMode.OFF) {
+                badIndex.fire(5);
+                badCount.fire(0);
+            } else {
+                assertThrows(AssertionError.class, () -> badIndex.fire(5), mode + " should catch a bad cell index");
+                assertThrows(AssertionError.class, () -> badCount.fire(0), mode + " should catch a bad remaining count");
+            }
+        }
+    }
+
+    private static GameModel corruptibleModel(ValidationMode mode) {
+        GameModel model = new GameModel();
+        placeFleet(model);
+        model.setValidationMode(mode);
+        return model;
+    }
+
+    /**
+     * Lays out the fleet A1,5,H / C3,4,V / E5,3,H / G7,2,V / I9,2,H, in that order.
+     */
+    private static void placeFleet(GameModel model) {
+        Layout layout = new Layout();
+        layout.addShip(0, 5, true);
+        layout.addShip(22, 4, false);
+        layout.addShip(44, 3, true);
+        layout.addShip(66, 2, false);
+        layout.addShip(88, 2, true);
+        layout.applyTo(model);
+    }
+
+    private static Field privateField(String name) throws NoSuchFieldException {
+        Field field = GameModel.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field;
+    }
+
+    @Test
+    public void testListenerReceivesCellDeltas() {
+        GameModel model = new GameModel();
+        List<String> events = new ArrayList<>();
+        model.addListener(new GameModelListener() {
+            @Override
+            public void cellChanged(GameModel m, int cell, int oldState, int newState, int sunkShip) {
+                events.add(cell + ":" + oldState + ">" + newState + "/" + sunkShip);
+            }
+
+            @Override
+            public void boardReset(GameModel m) {
+                events.add("reset");
+            }
+        });
+        placeFleet(model);
+        model.processGuess("J1");
+        model.processGuess("G7");
+        model.processGuess("H7");
+
+        assertEquals(List.of("reset", "90:0>3/-1", "66:1>2/-1", "76:1>4/3", "66:2>4/3"), events);
+    }
+
+    @Test
+    public void testSeededLayoutsAreReproducible() {
+        GameModel first = new GameModel(new SplittableRandom(42));
+        GameModel second = new GameModel(new SplittableRandom(42));
+        for (int game = 0; game < 20; game++) {
+            first.initializeGame();
+            second.initializeGame();
+            for (int cell = 0; cell < 100; cell++) {
+                assertEquals(first.getCellState(cell), second.getCellState(cell), "Same seed should give the same layout");
+            }
+            assertEquals(5, first.getShips().size());
+        }
+    }
+
+    @Test
+    public void testSalvoReportsEachShotAndNotifiesOnce() {
+        GameModel model = new GameModel();
+        model.setValidationMode(ValidationMode.FULL);
+        placeFleet(model);
+        int[] notifications = {0};
+        model.addObserver((o, arg) -> notifications[0]++);
+
+        int[] salvo = {90, 66, 76, 66, 100, -1};
+        byte[] results = new byte[salvo.length];
+        assertEquals(2, model.processGuesses(salvo, results), "G7 and H7 should both hit");
+        assertArrayEquals(new byte[] {GameModel.SHOT_MISS, GameModel.SHOT_HIT, GameModel.SHOT_SUNK,
+                GameModel.SHOT_REPEAT, GameModel.SHOT_INVALID, GameModel.SHOT_INVALID}, results);
+        assertEquals(1, notifications[0], "Observers should hear about the salvo once");
+        assertEquals(3, model.getShotsNumber());
+        assertEquals(GameModel.SUNK, model.getCellState(66));
+    }
+
+    @Test
+    public void testResetClearsEverything() {
+        model.processGuess(0);
+        model.processGuess(55);
+        int[][] grid = model.getGrid();
+        model.reset();
+
+        assertEquals(0, model.getShips().size(), "Reset should remove all ships");
+        assertEquals(0, model.getShotsNumber(), "Reset should clear hits and misses");
+        for (int cell = 0; cell < 100; cell++) {
+            assertEquals(0, model.getCellState(cell), "Cell " + cell + " should be water after reset");
+            assertEquals(0, grid[cell / 10][cell % 10], "Grid view should be cleared too");
+        }
+        model.initializeGame();
+        assertEquals(5, model.getShips().size(), "A reset model should accept a new fleet");
+    }
+
+    @Test
+    public void testPoolReusesResetModels() {
+        GameModelPool pool = new GameModelPool(2, 1, ValidationMode.FULL);
+        GameModel pooled = pool.acquire();
+        pooled.initializeGame();
+        pooled.addObserver((o, arg) -> fail("Released model should have no observers"));
+        pool.release(pooled);
+
+        assertThrows(IllegalStateException.class, () -> pool.release(pooled), "A model can only be given back once");
+        assertEquals(1, pool.idleCount(), "A second release must not queue the model twice");
+
+        assertSame(pooled, pool.acquire(), "Released model should be handed out again");
+        assertEquals(0, pooled.getShips().size());
+        pooled.initializeGame();
+        assertFalse(pooled.isGameOver());
+        pool.release(pooled);
+    }
 }
@@ -0,0 +1,240 @@
+import java.util.Arrays;
+
+/**
+ * The shape of a game: board dimensions, the fleet and how cells are written as
+ * coordinates. Rows are labelled with letters (A..Z, then AA, AB, ... as in
+ * spreadsheet columns) and columns with 1-based numbers, so the standard board
+ * reads "A1".."J10" and a 26x26 board runs to "Z26". Cell indices are
+ * {@code row * cols + col}. Instances are immutable.
+ */
+public final class GameRules {
+    /** The classic 10x10 board with ships of length 5, 4, 3, 2 and 2. */
+    public static final GameRules STANDARD = new GameRules(10, 10, 5, 4, 3, 2, 2);
+
+    private static final int MAX_FLEET = Short.MAX_VALUE - 1;
+
+    private final int rows;
+    private final int cols;
+    private final int cellCount;
+    private final int[] fleet;
+    private final int totalShipSquares;
+    private final int maxShipLength;
+    private final PlacementTable placements;
+
+    /**
+     * @param rows Number of rows
+     * @param cols Number of columns
+     * @param fleet Length of every ship in play, in placement order
+     * @throws IllegalArgumentException if the board is empty, a ship cannot fit or the fleet cannot fit
+     */
+    public GameRules(int rows, int cols, int... fleet) {
+        if (rows <= 0 || cols <= 0) throw new IllegalArgumentException("Board must have rows and columns: " + rows + "x" + cols);
+        if (fleet == null || fleet.length == 0) throw new IllegalArgumentException("Fleet cannot be empty");
+        if (fleet.length > MAX_FLEET) throw new IllegalArgumentException("Fleet cannot have more than " + MAX_FLEET + " ships");
+        this.rows = rows;
+        this.cols = cols;
+        this.cellCount = Math.multiplyExact(rows, cols);
+        this.fleet = fleet.clone();
+        long squares = 0;
+        int longest = 0;
+        for (int length : fleet) {
+            if (length <= 0 || length > Math.max(rows, cols)) {
+                throw new IllegalArgumentException("Ship of length " + length + " does not fit a " + rows + "x" + cols + " board");
+            }
+            squares += length;
+            longest = Math.max(longest, length);
+        }
+        if (squares > cellCount) {
+            throw new IllegalArgumentException("Fleet covers " + squares + " squares but the board only has " + cellCount);
+        }
+        this.totalShipSquares = (int) squares;
+        this.maxShipLength = longest;
+        this.placements = new PlacementTable(rows, cols);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    public int getFleetSize() {
+        return fleet.length;
+    }
+
+    /**
+     * @param ship Index into the fleet
+     * @return Length of that ship
+     */
+    public int getShipLength(int ship) {
+        return fleet[ship];
+    }
+
+    /**
+     * @return A copy of the fleet's ship lengths
+     */
+    public int[] getFleet() {
+        return fleet.clone();
+    }
+
+    public int getTotalShipSquares() {
+        return totalShipSquares;
+    }
+
+    public int getMaxShipLength() {
+        return maxShipLength;
+    }
+
+    PlacementTable placements() {
+        return placements;
+    }
+
+    /**
+     * @return true if the cell index is on the board
+     */
+    public boolean isCell(int cell) {
+        return cell >= 0 && cell < cellCount;
+    }
+
+    /**
+     * @return Cell index of a row and column, or -1 if they are off the board
+     */
+    public int cellOf(int row, int col) {
+        return row < 0 || row >= rows || col < 0 || col >= cols ? -1 : row * cols + col;
+    }
+
+    /**
+     * Checks that a ship of the given length starting at a cell stays on the board.
+     */
+    public boolean fits(int startCell, int length, boolean horizontal) {
+        if (!isCell(startCell) || length <= 0) {
+            return false;
+        }
+        return horizontal ? startCell % cols + length <= cols : startCell / cols + length <= rows;
+    }
+
+    /**
+     * @return Number of symmetries of the board: 8 rotations and reflections for a
+     *         square board, 4 (identity, two mirrors, half turn) otherwise
+     */
+    public int getSymmetryCount() {
+        return rows == cols ? 8 : 4;
+    }
+
+    /**
+     * Maps a cell through one of the board's symmetries. Symmetry 0 is the
+     * identity; 1 and 2 mirror left-right and top-bottom; 3 is a half turn; on a
+     * square board 4 to 7 are the transpose, the quarter turns and the
+     * anti-transpose.
+     * @param symmetry Index below {@link #getSymmetryCount()}
+     */
+    public int transformCell(int symmetry, int cell) {
+        int row = cell / cols;
+        int col = cell % cols;
+        int lastRow = rows - 1;
+        int lastCol = cols - 1;
+        switch (symmetry) {
+            case 0: return cell;
+            case 1: return row * cols + lastCol - col;
+            case 2: return (lastRow - row) * cols + col;
+            case 3: return (lastRow - row) * cols + lastCol - col;
+        }
+        if (rows != cols || symmetry < 0 || symmetry >= 8) {
+            throw new IllegalArgumentException("No symmetry " + symmetry + " on a " + rows + "x" + cols + " board");
+        }
+        switch (symmetry) {
+            case 4: return col * cols + row;
+            case 5: return col * cols + lastRow - row;
+            case 6: return (lastCol - col) * cols + row;
+            default: return (lastCol - col) * cols + lastRow - row;
+        }
+    }
+
+    /**
+     * Parses a coordinate such as "C7" into a cell index.
+     * @param text Text to parse
+     * @return The cell index, or -1 if the text is null or not a coordinate on this board
+     */
+    public int parseCell(CharSequence text) {
+        return text == null ? -1 : parseCell(text, 0, text.length());
+    }
+
+    /**
+     * Parses the characters {@code [from, to)} of {@code text} into a cell index:
+     * one or more uppercase row letters, then a column number without leading zeros.
+     * Never allocates.
+     * @return The cell index, or -1 if the range is not a coordinate on this board
+     */
+    int parseCell(CharSequence text, int from, int to) {
+        int i = from;
+        long row = 0;
+        while (i < to) {
+            int letter = text.charAt(i) - 'A';
+            if (letter < 0 || letter >= 26) break;
+            row = row * 26 + letter + 1;
+            if (row > rows) return -1;
+            i++;
+        }
+        if (i == from || i == to || text.charAt(i) == '0') {
+            return -1;
+        }
+        long col = 0;
+        for (; i < to; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return -1;
+            col = col * 10 + digit;
+            if (col > cols) return -1;
+        }
+        return (int) (row - 1) * cols + (int) col - 1;
+    }
+
+    /**
+     * Appends the coordinate of a cell, e.g. "C7".
+     * @return {@code out}
+     */
+    public StringBuilder appendCell(StringBuilder out, int cell) {
+        if (!isCell(cell)) throw new IllegalArgumentException("Cell out of range: " + cell);
+        return appendRowLabel(out, cell / cols).append(cell % cols + 1);
+    }
+
+    public String formatCell(int cell) {
+        return appendCell(new StringBuilder(8), cell).toString();
+    }
+
+    /**
+     * Appends the letters naming a row: A..Z, AA..AZ, BA and so on.
+     * @return {@code out}
+     */
+    public static StringBuilder appendRowLabel(StringBuilder out, int row) {
+        if (row < 0) throw new IllegalArgumentException("Row cannot be negative: " + row);
+        int start = out.length();
+        for (int n = row + 1; n > 0; n = (n - 1) / 26) {
+            out.insert(start, (char) ('A' + (n - 1) % 26));
+        }
+        return out;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GameRules)) return false;
+        GameRules other = (GameRules) o;
+        return rows == other.rows && cols == other.cols && Arrays.equals(fleet, other.fleet);
+    }
+
+    @Override
+    public int hashCode() {
+        return (rows * 31 + cols) * 31 + Arrays.hashCode(fleet);
+    }
+
+    @Override
+    public String toString() {
+        return rows + "x" + cols + " " + Arrays.toString(fleet);
+    }
+}
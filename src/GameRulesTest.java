@@ -0,0 +1,59 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameRulesTest {
+
+    @Test
+    public void testCoordinatesBeyondTheAlphabet() {
+        GameRules rules = new GameRules(30, 40, 5, 4);
+        assertEquals(0, rules.parseCell("A1"));
+        assertEquals(25 * 40 + 25, rules.parseCell("Z26"));
+        assertEquals(26 * 40, rules.parseCell("AA1"), "Row 27 should be labelled AA");
+        assertEquals(29 * 40 + 39, rules.parseCell("AD40"), "AD40 should be the last cell");
+        assertEquals("AD40", rules.formatCell(29 * 40 + 39));
+        assertEquals("Z26", rules.formatCell(25 * 40 + 25));
+        String[] invalid = {null, "", "A", "A0", "A01", "A41", "AE1", "a1", "1A", "AA"};
+        for (String text : invalid) {
+            assertEquals(-1, rules.parseCell(text), "Should reject " + text);
+        }
+    }
+
+    @Test
+    public void testStandardRulesMatchTheClassicBoard() {
+        GameRules rules = GameRules.STANDARD;
+        assertEquals(100, rules.getCellCount());
+        assertEquals(16, rules.getTotalShipSquares());
+        assertEquals(99, rules.parseCell("J10"));
+        assertEquals(-1, rules.parseCell("K1"));
+        assertEquals(rules, new GameRules(10, 10, 5, 4, 3, 2, 2));
+    }
+
+    @Test
+    public void testRejectsFleetThatCannotFit() {
+        assertThrows(IllegalArgumentException.class, () -> new GameRules(5, 5, 6));
+        assertThrows(IllegalArgumentException.class, () -> new GameRules(2, 2, 2, 2, 2));
+        assertThrows(IllegalArgumentException.class, () -> new GameRules(0, 10, 2));
+    }
+
+    @Test
+    public void testLargeBoardGamePlaysToTheEnd() {
+        int[] fleet = new int[40];
+        for (int i = 0; i < fleet.length; i++) {
+            fleet[i] = 2 + i % 5;
+        }
+        GameRules rules = new GameRules(26, 26, fleet);
+        GameModel model = new GameModel(rules, new SplittableRandom(7));
+        model.setValidationMode(ValidationMode.FULL);
+        model.initializeGame();
+        assertEquals(fleet.length, model.getShips().size());
+        assertEquals(rules.getRows(), model.getGrid().length);
+        assertEquals(rules.getCols(), model.getGrid()[0].length);
+
+        int shots = SimulationRunner.playGame(model, new ProbabilityShotStrategy(rules));
+        assertTrue(model.isGameOver());
+        assertTrue(shots >= rules.getTotalShipSquares() && shots <= rules.getCellCount(), "Shots: " + shots);
+    }
+}
@@ -0,0 +1,208 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hosts many independent games over TCP, one session per connection. Each session
+ * has its own GameModel, SocketGameView and GameController and blocks in
+ * {@code getInput()} while waiting for its player, so on Java 21+ sessions run on
+ * virtual threads and an idle session costs no platform thread. On older runtimes
+ * it falls back to a bounded pool of daemon platform threads, and connections past
+ * that bound are refused instead of queued.
+ */
+public class GameServer implements Closeable {
+    private static final Logger LOGGER = Logger.getLogger(GameServer.class.getName());
+    static final int DEFAULT_MAX_PLATFORM_SESSIONS = 256;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions;
+    private final GameModelPool models = new GameModelPool(4096);
+    private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final AtomicInteger completedSessions = new AtomicInteger();
+    private final Thread acceptor;
+    private volatile SpectatorServer spectators;
+    private volatile boolean closed;
+
+    /**
+     * Binds to the given port on the loopback interface.
+     * @param port Port to listen on, or 0 for any free port
+     */
+    public GameServer(int port) throws IOException {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    public GameServer(InetSocketAddress address) throws IOException {
+        this(address, DEFAULT_MAX_PLATFORM_SESSIONS);
+    }
+
+    /**
+     * @param maxPlatformSessions Most sessions played at once when virtual threads are
+     *                            unavailable and each session needs a platform thread
+     */
+    public GameServer(InetSocketAddress address, int maxPlatformSessions) throws IOException {
+        if (maxPlatformSessions <= 0) {
+            throw new IllegalArgumentException("Session limit must be positive: " + maxPlatformSessions);
+        }
+        serverSocket = new ServerSocket();
+        serverSocket.bind(address, 1024);
+        sessions = newSessionExecutor(maxPlatformSessions);
+        acceptor = new Thread(this::acceptLoop, "ships-acceptor");
+        acceptor.setDaemon(true);
+    }
+
+    /**
+     * Starts accepting connections in the background.
+     */
+    public void start() {
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Publishes every new session's game to a spectator server. Each player is told
+     * the id to watch their game under.
+     * @param spectators Server to publish to, or null to stop publishing
+     */
+    public void setSpectators(SpectatorServer spectators) {
+        this.spectators = spectators;
+    }
+
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    public int getCompletedSessions() {
+        return completedSessions.get();
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                openSockets.add(socket);
+                try {
+                    sessions.execute(() -> runSession(socket));
+                } catch (RejectedExecutionException e) {
+                    if (!closed) LOGGER.warning("Session limit reached, refusing connection from " + socket.getRemoteSocketAddress());
+                    openSockets.remove(socket);
+                    socket.close();
+                }
+            } catch (SocketException e) {
+                if (!closed) LOGGER.log(Level.WARNING, "Accept failed", e);
+                return;
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Accept failed", e);
+            }
+        }
+    }
+
+    private void runSession(Socket socket) {
+        activeSessions.incrementAndGet();
+        GameModel model = models.acquire();
+        model.setMetrics(GameMetrics.global());
+        SpectatorServer watchers = spectators;
+        int gameId = watchers != null ? watchers.publish(model) : 0;
+        try (Socket s = socket) {
+            SocketGameView view = new SocketGameView(s);
+            if (watchers != null) {
+                view.showMessage("Spectators can watch this as game " + gameId);
+            }
+            GameController controller = new GameController(model, view);
+            controller.startRandomGame();
+        } catch (IOException e) {
+            LOGGER.fine("Session ended: " + e.getMessage());
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Session failed", e);
+        } finally {
+            if (watchers != null) {
+                watchers.unpublish(gameId);
+            }
+            models.release(model);
+            openSockets.remove(socket);
+            activeSessions.decrementAndGet();
+            completedSessions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Stops accepting connections and disconnects every session.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        for (Socket socket : openSockets) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                LOGGER.fine("Closing session socket failed: " + e.getMessage());
+            }
+        }
+        sessions.shutdownNow();
+    }
+
+    /**
+     * Uses {@code Executors.newVirtualThreadPerTaskExecutor()} when the runtime has it.
+     * Looked up reflectively so the project still builds and runs on Java 17, where
+     * sessions get at most {@code maxPlatformSessions} platform threads and further
+     * tasks are rejected.
+     */
+    static ExecutorService newSessionExecutor(int maxPlatformSessions) {
+        try {
+            MethodHandle factory = MethodHandles.publicLookup().findStatic(Executors.class,
+                    "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+            return (ExecutorService) factory.invoke();
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            LOGGER.info("Virtual threads unavailable, sessions use up to " + maxPlatformSessions + " platform threads");
+        } catch (Throwable e) {
+            LOGGER.log(Level.WARNING, "Could not create virtual thread executor, sessions use up to "
+                    + maxPlatformSessions + " platform threads", e);
+        }
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(0, maxPlatformSessions, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), task -> {
+            Thread thread = new Thread(task, "ships-session-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs a server from the command line: {@code GameServer [port]}. Spectators
+     * connect to the next port up.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 4747;
+        GameServer server = new GameServer(port);
+        SpectatorServer spectators = new SpectatorServer(port + 1);
+        spectators.start();
+        server.setSpectators(spectators);
+        server.start();
+        GameMetrics.global().register("global");
+        GameMetrics.global().startReporting(snapshot -> LOGGER.info(snapshot.toString()), 1, TimeUnit.MINUTES);
+        System.out.println("Ships server listening on port " + server.getPort() + ", spectators on " + spectators.getPort());
+        server.acceptor.join();
+    }
+}
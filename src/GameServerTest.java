@@ -0,0 +1,136 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameServerTest {
+    private GameServer server;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new GameServer(0);
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void testPlaysWholeGameOverSocket() throws Exception {
+        String last = playEveryCell();
+        assertTrue(last.startsWith("MSG Game Over!"), "Last line should announce the end of the game, got: " + last);
+    }
+
+    @Test
+    public void testConcurrentSessionsAreIndependent() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<String>> games = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                games.add(clients.submit(this::playEveryCell));
+            }
+            for (Future<String> game : games) {
+                assertTrue(game.get(30, TimeUnit.SECONDS).startsWith("MSG Game Over!"));
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSessionExecutorMatchesRuntime() {
+        ExecutorService executor = GameServer.newSessionExecutor(3);
+        try {
+            if (Runtime.version().feature() >= 21) {
+                assertFalse(executor instanceof ThreadPoolExecutor, "Java 21+ should run sessions on virtual threads");
+            } else {
+                assertTrue(executor instanceof ThreadPoolExecutor, "Older runtimes should fall back to a thread pool");
+                assertEquals(3, ((ThreadPoolExecutor) executor).getMaximumPoolSize(), "The fallback pool should be bounded");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRefusesSessionsPastPlatformThreadLimit() throws Exception {
+        if (Runtime.version().feature() >= 21) {
+            return; // virtual threads have no limit to hit
+        }
+        try (GameServer limited = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1)) {
+            limited.start();
+            try (Socket first = new Socket(InetAddress.getLoopbackAddress(), limited.getPort());
+                 Socket second = new Socket(InetAddress.getLoopbackAddress(), limited.getPort())) {
+                first.setSoTimeout(5000);
+                second.setSoTimeout(5000);
+                assertNotNull(new BufferedReader(new InputStreamReader(first.getInputStream(), StandardCharsets.UTF_8)).readLine(),
+                        "The first session should be played");
+                assertEquals(-1, second.getInputStream().read(), "The second connection should be closed");
+            }
+        }
+    }
+
+    @Test
+    public void testRejectsInvalidInputAndQuits() throws Exception {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
+            readUntil(in, "READY");
+            out.println("Z99");
+            assertEquals("ERR invalid input", in.readLine());
+            readUntil(in, "READY");
+            out.println("quit");
+            assertEquals("MSG Game ended by player.", readUntil(in, "MSG"));
+        }
+    }
+
+    /**
+     * Fires at every cell in order until the server announces the end of the game.
+     * @return The final message
+     */
+    private String playEveryCell() throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
+            assertTrue(readUntil(in, "GRID").matches("GRID ~{100}"), "Board should start with every cell unknown");
+            for (int cell = 0; cell < 100; cell++) {
+                String line = readUntil(in, "READY", "MSG Game Over!");
+                if (line.startsWith("MSG Game Over!")) {
+                    return line;
+                }
+                out.println("" + (char) ('A' + cell / 10) + (cell % 10 + 1));
+            }
+            return readUntil(in, "MSG Game Over!");
+        }
+    }
+
+    private static String readUntil(BufferedReader in, String... prefixes) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            for (String prefix : prefixes) {
+                if (line.startsWith(prefix)) return line;
+            }
+        }
+        fail("Connection closed while waiting for " + String.join(" or ", prefixes));
+        return null;
+    }
+}
@@ -0,0 +1,146 @@
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-size binary encoding of a complete game, for checkpointing sessions and
+ * moving them between processes.
+ *
+ * <pre>
+ * byte      version (1)
+ * byte      number of ships
+ * 5 x 2     per ship: start cell, (length &lt;&lt; 1) | horizontal; unused slots are 0xFF 0xFF
+ * 25 bytes  100 cells x 2 bits, four cells per byte, low bits first:
+ *           0 not fired at, 1 hit, 2 miss, 3 sunk
+ * </pre>
+ *
+ * Hits, misses and sunk ships are rebuilt from the cell states on restore, and
+ * the stored states are checked against what the layout implies. The format is
+ * sized for {@link GameRules#STANDARD}; models on other boards are rejected.
+ */
+public final class GameSnapshot {
+    public static final byte VERSION = 1;
+    private static final GameRules RULES = GameRules.STANDARD;
+    private static final int CELL_COUNT = RULES.getCellCount();
+    private static final int MAX_SHIPS = RULES.getFleetSize();
+    private static final int CELL_BYTES = (CELL_COUNT + 3) / 4;
+    /** Encoded size of every snapshot, in bytes. */
+    public static final int SIZE = 2 + 2 * MAX_SHIPS + CELL_BYTES;
+
+    private static final int UNSHOT = 0, HIT = 1, MISS = 2, SUNK = 3;
+    private static final byte UNUSED = (byte) 0xFF;
+
+    private GameSnapshot() {
+    }
+
+    private static void checkRules(GameModel model) {
+        if (model == null) throw new IllegalArgumentException("Model cannot be null");
+        if (!RULES.equals(model.getRules())) {
+            throw new IllegalArgumentException("Snapshots only support " + RULES + ", not " + model.getRules());
+        }
+    }
+
+    /**
+     * Writes the model's state at the buffer's position, advancing it by {@link #SIZE}.
+     * @throws java.nio.BufferOverflowException if fewer than SIZE bytes remain
+     */
+    public static void write(GameModel model, ByteBuffer out) {
+        checkRules(model);
+        out.put(VERSION);
+        int shipCount = model.getShips().size();
+        out.put((byte) shipCount);
+        for (int i = 0; i < MAX_SHIPS; i++) {
+            if (i < shipCount) {
+                Ship ship = model.getShips().get(i);
+                out.put((byte) RULES.cellOf(ship.getStartRow(), ship.getStartCol()));
+                out.put((byte) (ship.getLength() << 1 | (ship.isHorizontal() ? 1 : 0)));
+            } else {
+                out.put(UNUSED).put(UNUSED);
+            }
+        }
+        for (int base = 0; base < CELL_COUNT; base += 4) {
+            int packed = 0;
+            for (int i = 0; i < 4 && base + i < CELL_COUNT; i++) {
+                packed |= encode(model.getCellState(base + i)) << (2 * i);
+            }
+            out.put((byte) packed);
+        }
+    }
+
+    /**
+     * Replaces the model's state with a snapshot read at the buffer's position.
+     * Listeners and observers get a single board reset. If the snapshot is rejected
+     * the model is left half-built and should be reset or discarded.
+     * @throws IllegalArgumentException if the data is truncated, from another version, or inconsistent
+     */
+    public static void read(ByteBuffer in, GameModel model) {
+        checkRules(model);
+        try {
+            byte version = in.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported snapshot version: " + version);
+            }
+            int shipCount = in.get() & 0xFF;
+            if (shipCount > MAX_SHIPS) {
+                throw new IllegalArgumentException("Too many ships in snapshot: " + shipCount);
+            }
+            model.beginLayout();
+            for (int i = 0; i < MAX_SHIPS; i++) {
+                int start = in.get() & 0xFF;
+                int shape = in.get() & 0xFF;
+                if (i < shipCount) {
+                    if (start >= CELL_COUNT) {
+                        throw new IllegalArgumentException("Invalid ship start cell in snapshot: " + start);
+                    }
+                    model.addShip(start / RULES.getCols(), start % RULES.getCols(), shape >>> 1, (shape & 1) != 0);
+                }
+            }
+            int cellsStart = in.position();
+            for (int cell = 0; cell < CELL_COUNT; cell++) {
+                if (cellCode(in, cellsStart, cell) != UNSHOT) {
+                    model.restoreShot(cell);
+                }
+            }
+            for (int cell = 0; cell < CELL_COUNT; cell++) {
+                if (cellCode(in, cellsStart, cell) != encode(model.getCellState(cell))) {
+                    throw new IllegalArgumentException("Snapshot cell " + cell + " does not match its ship layout");
+                }
+            }
+            in.position(cellsStart + CELL_BYTES);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Snapshot is truncated", e);
+        }
+        model.completeLayout();
+    }
+
+    /**
+     * @return A new array of {@link #SIZE} bytes holding the model's state
+     */
+    public static byte[] toBytes(GameModel model) {
+        byte[] bytes = new byte[SIZE];
+        write(model, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    /**
+     * @return A new model restored from {@link #toBytes} output
+     */
+    public static GameModel fromBytes(byte[] bytes) {
+        if (bytes == null) throw new IllegalArgumentException("Snapshot cannot be null");
+        GameModel model = new GameModel();
+        read(ByteBuffer.wrap(bytes), model);
+        return model;
+    }
+
+    private static int cellCode(ByteBuffer in, int cellsStart, int cell) {
+        return (in.get(cellsStart + cell / 4) >>> (2 * (cell % 4))) & 3;
+    }
+
+    private static int encode(int state) {
+        switch (state) {
+            case GameModel.HIT: return HIT;
+            case GameModel.MISS: return MISS;
+            case GameModel.SUNK: return SUNK;
+            default: return UNSHOT;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameSnapshotTest {
+
+    @Test
+    public void testRoundTripPreservesState() {
+        GameModel model = new GameModel();
+        model.initializeGame();
+        ProbabilityShotStrategy solver = new ProbabilityShotStrategy();
+        solver.newGame();
+        for (int shot = 0; shot < 30; shot++) {
+            int cell = solver.nextShot();
+            int result = model.fire(cell);
+            solver.shotResult(cell, result, result == GameModel.SHOT_SUNK ? model.getShipAt(cell) : null);
+        }
+
+        byte[] bytes = GameSnapshot.toBytes(model);
+        assertEquals(37, bytes.length, "Snapshot should be 37 bytes");
+        GameModel restored = GameSnapshot.fromBytes(bytes);
+
+        assertEquals(model.getShotsNumber(), restored.getShotsNumber());
+        for (int cell = 0; cell < 100; cell++) {
+            assertEquals(model.getCellState(cell), restored.getCellState(cell), "Cell " + cell + " should survive the round trip");
+        }
+        assertArrayEquals(bytes, GameSnapshot.toBytes(restored), "Re-encoding should give identical bytes");
+    }
+
+    @Test
+    public void testSnapshotsPackBackToBack() {
+        ByteBuffer buffer = ByteBuffer.allocate(GameSnapshot.SIZE * 3);
+        GameModel[] models = new GameModel[3];
+        for (int i = 0; i < models.length; i++) {
+            models[i] = new GameModel();
+            models[i].initializeGame();
+            models[i].processGuess(i * 11);
+            GameSnapshot.write(models[i], buffer);
+        }
+        buffer.flip();
+        GameModel restored = new GameModel();
+        for (GameModel original : models) {
+            GameSnapshot.read(buffer, restored);
+            for (int cell = 0; cell < 100; cell++) {
+                assertEquals(original.getCellState(cell), restored.getCellState(cell));
+            }
+        }
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testRejectsInconsistentSnapshot() {
+        GameModel model = new GameModel();
+        model.initializeGame();
+        byte[] bytes = GameSnapshot.toBytes(model);
+        int water = 0;
+        while (model.getCellState(water) != GameModel.WATER) water++;
+        bytes[2 + 2 * 5 + water / 4] |= (byte) (1 << (2 * (water % 4)));
+
+        assertThrows(IllegalArgumentException.class, () -> GameSnapshot.fromBytes(bytes),
+                "A hit on open water should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> GameSnapshot.fromBytes(new byte[5]));
+    }
+}
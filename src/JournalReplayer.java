@@ -0,0 +1,231 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rebuilds games from a {@link MoveJournal} file. The file is memory-mapped and
+ * read record by record with fixed offsets, so replay speed is bounded by I/O.
+ */
+public class JournalReplayer {
+    // Records per mapped window; keeps each mapping well below the 2 GB limit.
+    private static final long WINDOW_RECORDS = 1L << 24;
+    private static final int DEFAULT_MAX_OPEN_GAMES = 1024;
+
+    /**
+     * Called for every game found in the journal.
+     */
+    public interface GameHandler {
+        /**
+         * @param gameId Id the game was journaled under
+         * @param model The game's final state; only valid during the call, as the model is reused
+         */
+        void gameReplayed(long gameId, GameModel model);
+    }
+
+    private JournalReplayer() {
+    }
+
+    /**
+     * Rebuilds the latest game journaled under one id.
+     * @return The game's state after its last recorded move, or null if the id is not in the journal
+     */
+    public static GameModel replay(Path journal, long gameId) throws IOException {
+        GameModel[] model = {null};
+        RulesRecords[] rules = {null};
+        scan(journal, (id, type, cell, value) -> {
+            if (id != gameId) return;
+            if (type == MoveJournal.RULES) {
+                if (rules[0] == null) rules[0] = new RulesRecords();
+                rules[0].add(id, cell, value);
+                return;
+            }
+            if (type == MoveJournal.RESET) {
+                GameRules gameRules = rules[0] != null ? rules[0].build(id) : GameRules.STANDARD;
+                rules[0] = null;
+                if (model[0] == null || !model[0].getRules().equals(gameRules)) {
+                    model[0] = new GameModel(gameRules);
+                    model[0].setValidationMode(ValidationMode.OFF);
+                }
+            } else if (model[0] == null) {
+                throw new IllegalStateException("Journal record for game " + id + " before its layout");
+            }
+            apply(model[0], id, type, cell, value);
+        });
+        return model[0];
+    }
+
+    /**
+     * Replays every game in the journal, in parallel with the games interleaved in it,
+     * holding at most 1024 unfinished games at a time.
+     * @see #replayAll(Path, GameHandler, int)
+     */
+    public static long replayAll(Path journal, GameHandler handler) throws IOException {
+        return replayAll(journal, handler, DEFAULT_MAX_OPEN_GAMES);
+    }
+
+    /**
+     * Replays every game in the journal, in parallel with the games interleaved in it.
+     * A game is handed to the handler, and its model reused, as soon as it ends: when
+     * its last ship sinks, when its id starts a new layout, or at the end of the
+     * journal. Shots logged for a game after it was handed over are skipped.
+     *
+     * <p>If more than {@code maxOpenGames} games are unfinished at once, the one that
+     * has gone longest without a record, most likely abandoned, is handed over as it
+     * stands, so memory stays bounded however many games the journal holds.</p>
+     * @param maxOpenGames Most unfinished games kept at once; should exceed the number of games
+     *                     that were in play together when the journal was written
+     * @return Number of games replayed
+     */
+    public static long replayAll(Path journal, GameHandler handler, int maxOpenGames) throws IOException {
+        if (handler == null) throw new IllegalArgumentException("Handler cannot be null");
+        if (maxOpenGames <= 0) throw new IllegalArgumentException("Open game limit must be positive: " + maxOpenGames);
+        Replay replay = new Replay(handler, maxOpenGames);
+        scan(journal, replay::record);
+        return replay.finishAll();
+    }
+
+    /**
+     * The games open while {@link #replayAll} runs, in least recently used order.
+     */
+    private static final class Replay {
+        private final GameHandler handler;
+        private final int maxOpenGames;
+        private final LinkedHashMap<Long, GameModel> open = new LinkedHashMap<>(16, 0.75f, true);
+        private final Map<Long, RulesRecords> pendingRules = new HashMap<>();
+        private final Map<GameRules, GameModelPool> pools = new HashMap<>();
+        private long games;
+
+        Replay(GameHandler handler, int maxOpenGames) {
+            this.handler = handler;
+            this.maxOpenGames = maxOpenGames;
+        }
+
+        void record(long id, byte type, int cell, int value) {
+            if (type == MoveJournal.RULES) {
+                pendingRules.computeIfAbsent(id, k -> new RulesRecords()).add(id, cell, value);
+                return;
+            }
+            GameModel model = open.get(id);
+            if (type == MoveJournal.RESET) {
+                RulesRecords rules = pendingRules.remove(id);
+                GameRules gameRules = rules != null ? rules.build(id) : GameRules.STANDARD;
+                if (model != null) {
+                    open.remove(id);
+                    finish(id, model);
+                }
+                if (open.size() >= maxOpenGames) {
+                    Map.Entry<Long, GameModel> eldest = open.entrySet().iterator().next();
+                    open.remove(eldest.getKey());
+                    finish(eldest.getKey(), eldest.getValue());
+                }
+                model = pools.computeIfAbsent(gameRules, r -> new GameModelPool(r,
+                        Math.min(maxOpenGames, DEFAULT_MAX_OPEN_GAMES), 0, ValidationMode.OFF)).acquire();
+                open.put(id, model);
+            } else if (model == null) {
+                if (type == MoveJournal.SHOT) return; // the game already ended
+                throw new IllegalStateException("Journal record for game " + id + " before its layout");
+            }
+            apply(model, id, type, cell, value);
+            if (type == MoveJournal.SHOT && model.isGameOver()) {
+                open.remove(id);
+                finish(id, model);
+            }
+        }
+
+        private void finish(long id, GameModel model) {
+            if (!model.getShips().isEmpty()) {
+                handler.gameReplayed(id, model);
+                games++;
+            }
+            pools.get(model.getRules()).release(model);
+        }
+
+        long finishAll() {
+            for (Map.Entry<Long, GameModel> entry : open.entrySet()) {
+                finish(entry.getKey(), entry.getValue());
+            }
+            open.clear();
+            return games;
+        }
+    }
+
+    /**
+     * Collects the RULES records journaled ahead of a game's RESET.
+     */
+    private static final class RulesRecords {
+        private int rows, cols, ships;
+        private int[] fleet = new int[8];
+        private int fields;
+
+        void add(long id, int cell, int value) {
+            if (fields == 0) {
+                rows = cell + 1;
+            } else if (fields == 1) {
+                cols = cell + 1;
+            } else {
+                if (cell != ships) {
+                    throw new IllegalStateException("Journal rules for game " + id + " are out of order");
+                }
+                if (ships == fleet.length) fleet = Arrays.copyOf(fleet, ships * 2);
+                fleet[ships++] = value;
+            }
+            fields++;
+        }
+
+        GameRules build(long id) {
+            try {
+                return new GameRules(rows, cols, Arrays.copyOf(fleet, ships));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Journal rules for game " + id + " are invalid", e);
+            }
+        }
+    }
+
+    private static void apply(GameModel model, long id, byte type, int cell, int value) {
+        if (type == MoveJournal.RESET) {
+            model.beginLayout();
+        } else if (type == MoveJournal.SHIP) {
+            int cols = model.getRules().getCols();
+            model.addShip(cell / cols, cell % cols, value >>> 1, (value & 1) != 0);
+        } else if (type == MoveJournal.SHOT) {
+            int result = model.restoreShot(cell);
+            // Sunk vs hit can depend on the order restored shots were logged in; hit vs miss cannot.
+            if (result > GameModel.SHOT_SUNK || (result == GameModel.SHOT_MISS) != (value == GameModel.SHOT_MISS)) {
+                throw new IllegalStateException("Journal shot at cell " + cell + " of game " + id
+                        + " does not match its layout (recorded " + value + ", replayed " + result + ")");
+            }
+        } else {
+            throw new IllegalStateException("Unknown journal record type: " + type);
+        }
+    }
+
+    private interface RecordVisitor {
+        void record(long gameId, byte type, int cell, int value);
+    }
+
+    private static void scan(Path journal, RecordVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.READ)) {
+            long records = channel.size() / MoveJournal.RECORD_SIZE;
+            for (long first = 0; first < records; first += WINDOW_RECORDS) {
+                long count = Math.min(WINDOW_RECORDS, records - first);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                        first * MoveJournal.RECORD_SIZE, count * MoveJournal.RECORD_SIZE);
+                visitWindow(window, (int) count, visitor);
+            }
+        }
+    }
+
+    private static void visitWindow(ByteBuffer window, int count, RecordVisitor visitor) {
+        for (int i = 0, offset = 0; i < count; i++, offset += MoveJournal.RECORD_SIZE) {
+            visitor.record(window.getLong(offset), window.get(offset + 8),
+                    window.getShort(offset + 9) & 0xFFFF, window.get(offset + 11) & 0xFF);
+        }
+    }
+}
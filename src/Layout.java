@@ -0,0 +1,241 @@
+import java.util.Arrays;
+
+/**
+ * A fleet layout: where each ship starts, how long it is and which way it points.
+ * Instances are mutable so a reader can refill one object for every layout in a
+ * corpus; use {@link #copy()} to keep one.
+ */
+public final class Layout {
+    private final GameRules rules;
+    private final int capacity;
+    private final int[] startCells;
+    private final int[] lengths;
+    private final boolean[] horizontal;
+    private final BitBoard occupied;
+    private int shipCount;
+
+    public Layout() {
+        this(GameRules.STANDARD);
+    }
+
+    /**
+     * @param rules Board the layout is for; it holds at most one fleet's worth of ships
+     */
+    public Layout(GameRules rules) {
+        if (rules == null) throw new IllegalArgumentException("Rules cannot be null");
+        this.rules = rules;
+        this.capacity = rules.getFleetSize();
+        this.startCells = new int[capacity];
+        this.lengths = new int[capacity];
+        this.horizontal = new boolean[capacity];
+        this.occupied = new BitBoard(rules.getCellCount());
+    }
+
+    /**
+     * Copies the ships currently placed on a model.
+     */
+    public static Layout of(GameModel model) {
+        GameRules rules = model.getRules();
+        Layout layout = new Layout(rules);
+        for (Ship ship : model.getShips()) {
+            layout.addShip(rules.cellOf(ship.getStartRow(), ship.getStartCol()), ship.getLength(), ship.isHorizontal());
+        }
+        return layout;
+    }
+
+    public GameRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Removes every ship. Only the cells of those ships are touched, so reuse costs
+     * the same on any board size.
+     */
+    public void clear() {
+        for (int i = 0; i < shipCount; i++) {
+            int stride = horizontal[i] ? 1 : rules.getCols();
+            for (int j = 0, cell = startCells[i]; j < lengths[i]; j++, cell += stride) {
+                occupied.clear(cell);
+            }
+        }
+        shipCount = 0;
+    }
+
+    /**
+     * Adds a ship after checking it stays on the board and does not overlap the others.
+     * @param startCell Cell index of the top-left end of the ship
+     * @throws IllegalArgumentException if the ship does not fit
+     */
+    public void addShip(int startCell, int length, boolean isHorizontal) {
+        if (shipCount >= capacity) {
+            throw new IllegalArgumentException("Layout already has " + capacity + " ships");
+        }
+        if (!rules.isCell(startCell) || length <= 0) {
+            throw new IllegalArgumentException("Invalid ship placement parameters");
+        }
+        if (!rules.fits(startCell, length, isHorizontal)) {
+            throw new IllegalArgumentException("Ship at " + rules.formatCell(startCell) + " runs off the board");
+        }
+        int stride = isHorizontal ? 1 : rules.getCols();
+        for (int i = 0, cell = startCell; i < length; i++, cell += stride) {
+            if (occupied.get(cell)) {
+                throw new IllegalArgumentException("Ship at " + rules.formatCell(startCell) + " overlaps another ship");
+            }
+        }
+        for (int i = 0, cell = startCell; i < length; i++, cell += stride) {
+            occupied.set(cell);
+        }
+        startCells[shipCount] = startCell;
+        lengths[shipCount] = length;
+        horizontal[shipCount] = isHorizontal;
+        shipCount++;
+    }
+
+    public int getShipCount() {
+        return shipCount;
+    }
+
+    public int getStartCell(int ship) {
+        checkShip(ship);
+        return startCells[ship];
+    }
+
+    public int getLength(int ship) {
+        checkShip(ship);
+        return lengths[ship];
+    }
+
+    public boolean isHorizontal(int ship) {
+        checkShip(ship);
+        return horizontal[ship];
+    }
+
+    /**
+     * Replaces the model's board with this layout, nothing fired at yet.
+     * @throws IllegalArgumentException if the model plays by different rules
+     */
+    public void applyTo(GameModel model) {
+        if (model == null) throw new IllegalArgumentException("Model cannot be null");
+        if (!rules.equals(model.getRules())) {
+            throw new IllegalArgumentException("Layout is for " + rules + " but the model plays " + model.getRules());
+        }
+        model.beginLayout();
+        int cols = rules.getCols();
+        for (int i = 0; i < shipCount; i++) {
+            model.addShip(startCells[i] / cols, startCells[i] % cols, lengths[i], horizontal[i]);
+        }
+        model.completeLayout();
+    }
+
+    /**
+     * @return The same ships mapped through one of the board's symmetries
+     * @see GameRules#transformCell
+     */
+    public Layout transformed(int symmetry) {
+        if (symmetry < 0 || symmetry >= rules.getSymmetryCount()) {
+            throw new IllegalArgumentException("No symmetry " + symmetry + " on a " + rules + " board");
+        }
+        Layout result = new Layout(rules);
+        for (int i = 0; i < shipCount; i++) {
+            long placement = transformShip(symmetry, i);
+            result.addShip((int) (placement >>> 1), lengths[i], (placement & 1) != 0);
+        }
+        return result;
+    }
+
+    /**
+     * @return Key of this exact layout
+     * @throws IllegalStateException if the fleet is not complete
+     */
+    public LayoutKey key() {
+        return keyOf(0, new long[shipCount]);
+    }
+
+    /**
+     * Gets a key shared by this layout and all its rotations and mirror images, so
+     * equivalent layouts can be recognised, e.g. to reuse a simulation result. It is
+     * the smallest {@link #key()} over the board's symmetries.
+     * @throws IllegalStateException if the fleet is not complete
+     */
+    public LayoutKey canonicalKey() {
+        long[] ships = new long[shipCount];
+        LayoutKey best = keyOf(0, ships);
+        for (int symmetry = 1; symmetry < rules.getSymmetryCount(); symmetry++) {
+            LayoutKey key = keyOf(symmetry, ships);
+            if (key.compareTo(best) < 0) {
+                best = key;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return The rotation or mirror image of this layout whose key is {@link #canonicalKey()}
+     * @throws IllegalStateException if the fleet is not complete
+     */
+    public Layout canonical() {
+        return transformed(canonicalSymmetry());
+    }
+
+    private int canonicalSymmetry() {
+        long[] ships = new long[shipCount];
+        int best = 0;
+        LayoutKey bestKey = keyOf(0, ships);
+        for (int symmetry = 1; symmetry < rules.getSymmetryCount(); symmetry++) {
+            LayoutKey key = keyOf(symmetry, ships);
+            if (key.compareTo(bestKey) < 0) {
+                best = symmetry;
+                bestKey = key;
+            }
+        }
+        return best;
+    }
+
+    private LayoutKey keyOf(int symmetry, long[] ships) {
+        if (shipCount != capacity) {
+            throw new IllegalStateException("Layout has " + shipCount + " of " + capacity + " ships");
+        }
+        for (int i = 0; i < shipCount; i++) {
+            // Longest ships first, then by position.
+            ships[i] = (long) (Integer.MAX_VALUE - lengths[i]) << 32 | transformShip(symmetry, i);
+        }
+        Arrays.sort(ships);
+        return LayoutKey.of(rules, ships, shipCount);
+    }
+
+    /**
+     * @return {@code startCell * 2 + (horizontal ? 1 : 0)} of a ship after mapping it through a symmetry
+     */
+    private long transformShip(int symmetry, int ship) {
+        int stride = horizontal[ship] ? 1 : rules.getCols();
+        int a = rules.transformCell(symmetry, startCells[ship]);
+        int b = rules.transformCell(symmetry, startCells[ship] + (lengths[ship] - 1) * stride);
+        // A one-cell ship points both ways; call it horizontal so its images agree.
+        boolean across = a / rules.getCols() == b / rules.getCols();
+        return (long) Math.min(a, b) << 1 | (across ? 1 : 0);
+    }
+
+    public Layout copy() {
+        Layout copy = new Layout(rules);
+        for (int i = 0; i < shipCount; i++) {
+            copy.addShip(startCells[i], lengths[i], horizontal[i]);
+        }
+        return copy;
+    }
+
+    private void checkShip(int ship) {
+        if (ship < 0 || ship >= shipCount) {
+            throw new IndexOutOfBoundsException("Ship " + ship + " of " + shipCount);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < shipCount; i++) {
+            rules.appendCell(text, startCells[i])
+                    .append(',').append(lengths[i]).append(',').append(horizontal[i] ? 'H' : 'V').append('\n');
+        }
+        return text.toString();
+    }
+}
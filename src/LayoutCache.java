@@ -0,0 +1,102 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A bounded map from layouts to results, such as the shots a solver needed,
+ * evicting the least recently used entry when full. Key results by
+ * {@link Layout#key()}; use {@link Layout#canonicalKey()} instead, so rotations and
+ * mirror images of a layout share one entry, only for results that do not depend
+ * on the board's orientation. Safe for use from many threads.
+ * @param <V> Type of the cached results
+ */
+public final class LayoutCache<V> {
+    private final int capacity;
+    private final LinkedHashMap<LayoutKey, V> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private long evictions; // guarded by entries
+
+    /**
+     * @param capacity Maximum number of results kept
+     */
+    public LayoutCache(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LayoutKey, V> eldest) {
+                if (size() > LayoutCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return The cached result, or null if there is none
+     */
+    public V get(LayoutKey key) {
+        if (key == null) throw new IllegalArgumentException("Key cannot be null");
+        V value;
+        synchronized (entries) {
+            value = entries.get(key);
+        }
+        (value != null ? hits : misses).increment();
+        return value;
+    }
+
+    public void put(LayoutKey key, V value) {
+        if (key == null || value == null) throw new IllegalArgumentException("Key and value cannot be null");
+        synchronized (entries) {
+            entries.put(key, value);
+        }
+    }
+
+    /**
+     * Gets the cached result or computes and caches it. The computation runs
+     * without holding the cache's lock, so two threads missing on the same key at
+     * once may both compute it.
+     */
+    public V computeIfAbsent(LayoutKey key, Function<? super LayoutKey, ? extends V> compute) {
+        V value = get(key);
+        if (value == null) {
+            value = compute.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        synchronized (entries) {
+            return evictions;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * A compact 128-bit identity for a complete fleet layout, for use as a map key.
+ * Ships are ordered by length and position, so the order they were placed in and
+ * swaps of equal-length ships do not matter. When every ship's position and
+ * length fit in 128 bits (up to 10 ships on a 10x10 board), the key is those
+ * packed fields themselves and distinct layouts never share a key, even ones
+ * whose fleets differ. Beyond that it is a
+ * 128-bit hash, where a collision is vanishingly unlikely. Keys only identify
+ * layouts among those for the same {@link GameRules}.
+ *
+ * <p>See {@link Layout#key()} and {@link Layout#canonicalKey()}.</p>
+ */
+public final class LayoutKey implements Comparable<LayoutKey> {
+    private static final long MIX_A = 0x9E3779B97F4A7C15L, MIX_B = 0xC2B2AE3D27D4EB4FL;
+
+    private final long high;
+    private final long low;
+
+    LayoutKey(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Builds the key for a layout's ships.
+     * @param ships One entry per ship from {@link Layout}, sorted; the low 32 bits hold
+     *              {@code startCell * 2 + (horizontal ? 1 : 0)} and the high bits the length
+     */
+    static LayoutKey of(GameRules rules, long[] ships, int count) {
+        int placementBits = 33 - Integer.numberOfLeadingZeros(rules.getCellCount() - 1);
+        // A ship that fits on the board is no longer than its longer side.
+        int lengthBits = 32 - Integer.numberOfLeadingZeros(Math.max(rules.getRows(), rules.getCols()));
+        int bitsPerShip = placementBits + lengthBits;
+        if ((long) bitsPerShip * count <= 128) {
+            long high = 0, low = 0;
+            for (int i = 0; i < count; i++) {
+                long length = Integer.MAX_VALUE - (ships[i] >>> 32);
+                long placement = length << placementBits | ships[i] & 0xFFFFFFFFL;
+                high = high << bitsPerShip | low >>> (64 - bitsPerShip);
+                low = low << bitsPerShip | placement;
+            }
+            return new LayoutKey(high, low);
+        }
+        long high = MIX_A, low = MIX_B;
+        for (int i = 0; i < count; i++) {
+            high = mix(high ^ ships[i]);
+            low = mix(low + ships[i] * MIX_A);
+        }
+        return new LayoutKey(high, low);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * Orders keys as unsigned 128-bit numbers.
+     */
+    @Override
+    public int compareTo(LayoutKey other) {
+        int byHigh = Long.compareUnsigned(high, other.high);
+        return byHigh != 0 ? byHigh : Long.compareUnsigned(low, other.low);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LayoutKey)) return false;
+        LayoutKey other = (LayoutKey) o;
+        return high == other.high && low == other.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high * 31 + low);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+}
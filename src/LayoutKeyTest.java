@@ -0,0 +1,127 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LayoutKeyTest {
+
+    private static Layout standardLayout() {
+        Layout layout = new Layout();
+        layout.addShip(0, 5, true);      // A1-A5
+        layout.addShip(22, 4, false);    // C3-F3
+        layout.addShip(44, 3, true);     // E5-E7
+        layout.addShip(66, 2, false);    // G7-H7
+        layout.addShip(88, 2, true);     // I9-I10
+        return layout;
+    }
+
+    @Test
+    public void testRotationsAndMirrorsShareCanonicalKey() {
+        Layout layout = standardLayout();
+        LayoutKey canonical = layout.canonicalKey();
+        Set<LayoutKey> exactKeys = new HashSet<>();
+        for (int symmetry = 0; symmetry < 8; symmetry++) {
+            Layout image = layout.transformed(symmetry);
+            exactKeys.add(image.key());
+            assertEquals(canonical, image.canonicalKey(), "Symmetry " + symmetry + " should not change the canonical key");
+            assertEquals(canonical, image.canonical().key());
+            assertEquals(layout.canonical().toString(), image.canonical().toString());
+        }
+        assertEquals(8, exactKeys.size(), "This layout has no symmetry of its own, so its images all differ");
+        assertEquals(layout.key(), layout.transformed(0).key());
+    }
+
+    @Test
+    public void testShipOrderDoesNotMatter() {
+        Layout layout = standardLayout();
+        Layout reordered = new Layout();
+        reordered.addShip(88, 2, true);
+        reordered.addShip(44, 3, true);
+        reordered.addShip(66, 2, false);
+        reordered.addShip(0, 5, true);
+        reordered.addShip(22, 4, false);
+        assertEquals(layout.key(), reordered.key());
+    }
+
+    @Test
+    public void testShipLengthsArePartOfTheKey() {
+        Layout layout = standardLayout();
+        Layout shorter = new Layout();
+        shorter.addShip(0, 5, true);
+        shorter.addShip(22, 4, false);
+        shorter.addShip(44, 2, true);    // same anchors, but E5-E6
+        shorter.addShip(66, 2, false);
+        shorter.addShip(88, 2, true);
+        assertNotEquals(layout.key(), shorter.key());
+        assertNotEquals(layout.canonicalKey(), shorter.canonicalKey());
+    }
+
+    @Test
+    public void testDistinctLayoutsHaveDistinctKeys() {
+        GameModel model = new GameModel(new SplittableRandom(17));
+        model.setMetrics(null);
+        Map<LayoutKey, Set<String>> shipsByKey = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            model.initializeGame();
+            Layout layout = Layout.of(model);
+            List<String> ships = new ArrayList<>();
+            for (int s = 0; s < layout.getShipCount(); s++) {
+                ships.add(layout.getStartCell(s) + "/" + layout.getLength(s) + "/" + layout.isHorizontal(s));
+            }
+            shipsByKey.computeIfAbsent(layout.key(), k -> new HashSet<>()).add(new HashSet<>(ships).toString());
+        }
+        for (Set<String> layouts : shipsByKey.values()) {
+            assertEquals(1, layouts.size(), "One key should mean one layout: " + layouts);
+        }
+    }
+
+    @Test
+    public void testLargeFleetsAndRectangularBoards() {
+        int[] fleet = new int[20];
+        Arrays.fill(fleet, 2);
+        GameModel model = new GameModel(new GameRules(10, 10, fleet), new SplittableRandom(3));
+        model.setMetrics(null);
+        model.initializeGame();
+        Layout hashed = Layout.of(model);
+        for (int symmetry = 0; symmetry < 8; symmetry++) {
+            assertEquals(hashed.canonicalKey(), hashed.transformed(symmetry).canonicalKey());
+        }
+
+        GameRules wide = new GameRules(6, 12, 4, 3, 1);
+        assertEquals(4, wide.getSymmetryCount());
+        Layout layout = new Layout(wide);
+        layout.addShip(wide.cellOf(0, 0), 4, true);
+        layout.addShip(wide.cellOf(2, 5), 3, false);
+        layout.addShip(wide.cellOf(5, 11), 1, false);
+        for (int symmetry = 0; symmetry < 4; symmetry++) {
+            assertEquals(layout.canonicalKey(), layout.transformed(symmetry).canonicalKey());
+        }
+        assertThrows(IllegalArgumentException.class, () -> layout.transformed(4));
+        assertThrows(IllegalStateException.class, () -> new Layout(wide).key());
+    }
+
+    @Test
+    public void testCacheEvictsLeastRecentlyUsed() {
+        LayoutCache<Integer> cache = new LayoutCache<>(2);
+        LayoutKey a = new LayoutKey(0, 1), b = new LayoutKey(0, 2), c = new LayoutKey(0, 3);
+        cache.put(a, 1);
+        cache.put(b, 2);
+        assertEquals(Integer.valueOf(1), cache.get(a));
+        cache.put(c, 3);
+        assertNull(cache.get(b), "b was used least recently and should be evicted");
+        assertEquals(Integer.valueOf(1), cache.get(a));
+        assertEquals(Integer.valueOf(3), cache.computeIfAbsent(c, k -> { throw new AssertionError("c is cached"); }));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertEquals(3, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+}
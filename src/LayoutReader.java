@@ -0,0 +1,311 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams fleet layouts out of a corpus file one at a time, refilling the caller's
+ * Layout instead of creating objects, and reading the file through one reusable
+ * buffer. Two formats are recognised by their first bytes:
+ *
+ * <ul>
+ *   <li>Text: the ships.txt format, one {@code A1,5,H} line per ship. A layout is
+ *   complete once it has a full fleet, so any number of layouts can follow each
+ *   other; blank lines and lines starting with {@code #} are ignored.</li>
+ *   <li>Binary, as written by {@link LayoutWriter}: the magic {@code SHPL}, a version
+ *   byte and the number of ships per layout, then two bytes per ship (start cell,
+ *   {@code (length << 1) | horizontal}).</li>
+ * </ul>
+ *
+ * Every layout is validated against the reader's {@link GameRules} (bounds,
+ * overlaps, ship lengths, fleet size) before it is handed out. The binary format
+ * stores cells in one byte, so it only serves boards of up to 256 cells.
+ */
+public class LayoutReader implements Closeable {
+    static final byte[] MAGIC = {'S', 'H', 'P', 'L'};
+    static final byte VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_LINE = 80;
+
+    private final GameRules rules;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final boolean binary;
+    private final int fleetSize;
+    private final int minLength;
+    private final int maxLength;
+    private final AsciiLine line = new AsciiLine(MAX_LINE);
+    private long lineNumber;
+    private long layouts;
+    private boolean endOfFile;
+
+    private LayoutReader(Path path, GameRules rules) throws IOException {
+        this.rules = rules;
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (int length : rules.getFleet()) {
+            min = Math.min(min, length);
+            max = Math.max(max, length);
+        }
+        minLength = min;
+        maxLength = max;
+        buffer.flip();
+        try {
+            binary = readHeader();
+            if (binary && rules.getCellCount() > 256) {
+                throw new IllegalArgumentException("Binary corpora do not support " + rules);
+            }
+            fleetSize = binary ? buffer.get() & 0xFF : rules.getFleetSize();
+            if (fleetSize != rules.getFleetSize()) {
+                throw new IllegalArgumentException("Corpus has " + fleetSize + " ships per layout, expected "
+                        + rules.getFleetSize());
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a corpus of standard-board layouts, detecting whether it is text or binary.
+     */
+    public static LayoutReader open(Path path) throws IOException {
+        return open(path, GameRules.STANDARD);
+    }
+
+    /**
+     * Opens a corpus of layouts for the given rules, detecting whether it is text or binary.
+     */
+    public static LayoutReader open(Path path, GameRules rules) throws IOException {
+        if (path == null) throw new IllegalArgumentException("Path cannot be null");
+        if (rules == null) throw new IllegalArgumentException("Rules cannot be null");
+        return new LayoutReader(path, rules);
+    }
+
+    private boolean readHeader() throws IOException {
+        if (!fill(MAGIC.length)) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.get(buffer.position() + i) != MAGIC[i]) return false;
+        }
+        buffer.position(buffer.position() + MAGIC.length);
+        if (!fill(2)) throw new IllegalArgumentException("Truncated binary layout header");
+        byte version = buffer.get();
+        if (version != VERSION) throw new IllegalArgumentException("Unsupported layout corpus version: " + version);
+        return true;
+    }
+
+    /**
+     * Reads the next layout into {@code into}.
+     * @return false at the end of the corpus
+     * @throws IllegalArgumentException if the next layout is malformed or invalid
+     */
+    public boolean next(Layout into) throws IOException {
+        if (into == null) throw new IllegalArgumentException("Layout cannot be null");
+        into.clear();
+        boolean found = binary ? nextBinary(into) : nextText(into);
+        if (found) layouts++;
+        return found;
+    }
+
+    /**
+     * @return Rules every layout is checked against
+     */
+    public GameRules getRules() {
+        return rules;
+    }
+
+    /**
+     * @return Number of layouts read so far
+     */
+    public long getLayoutsRead() {
+        return layouts;
+    }
+
+    private boolean nextBinary(Layout into) throws IOException {
+        int recordSize = 2 * fleetSize;
+        if (!fill(recordSize)) {
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Truncated layout " + (layouts + 1) + " at end of corpus");
+            }
+            return false;
+        }
+        for (int i = 0; i < fleetSize; i++) {
+            int start = buffer.get() & 0xFF;
+            int shape = buffer.get() & 0xFF;
+            addShip(into, start, shape >>> 1, (shape & 1) != 0);
+        }
+        return true;
+    }
+
+    private boolean nextText(Layout into) throws IOException {
+        while (into.getShipCount() < fleetSize) {
+            if (!readLine()) {
+                if (into.getShipCount() == 0) return false;
+                throw new IllegalArgumentException("Layout " + (layouts + 1) + " ends after "
+                        + into.getShipCount() + " ships, expected " + fleetSize);
+            }
+            int from = line.skipSpaces(0);
+            int end = line.length();
+            if (from == end || line.charAt(from) == '#') continue;
+            int comma1 = line.indexOf(',', from);
+            int comma2 = comma1 < 0 ? -1 : line.indexOf(',', comma1 + 1);
+            if (comma2 < 0 || line.indexOf(',', comma2 + 1) >= 0) {
+                throw error("Invalid ship format, expected position,length,orientation");
+            }
+            int cell = rules.parseCell(line, from, line.trimEnd(comma1));
+            if (cell < 0) throw error("Invalid position");
+            int length = line.parseNumber(line.skipSpaces(comma1 + 1), line.trimEnd(comma2));
+            if (length < 0) throw error("Invalid number format");
+            int o = line.skipSpaces(comma2 + 1);
+            if (line.trimEnd(end) != o + 1 || (line.charAt(o) != 'H' && line.charAt(o) != 'V')) {
+                throw error("Invalid orientation");
+            }
+            try {
+                addShip(into, cell, length, line.charAt(o) == 'H');
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        return true;
+    }
+
+    private void addShip(Layout into, int start, int length, boolean horizontal) {
+        if (length < minLength || length > maxLength) {
+            throw new IllegalArgumentException("Invalid ship length: " + length);
+        }
+        into.addShip(start, length, horizontal);
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Line " + lineNumber + ": " + message + ": " + line);
+    }
+
+    /**
+     * Reads the next line into {@link #line}, upper-cased, without the line terminator.
+     * @return false at end of file
+     */
+    private boolean readLine() throws IOException {
+        line.clear();
+        boolean any = false;
+        while (true) {
+            if (!buffer.hasRemaining() && !fill(1)) {
+                if (any) lineNumber++;
+                return any;
+            }
+            any = true;
+            byte b = buffer.get();
+            if (b == '\n') {
+                lineNumber++;
+                return true;
+            }
+            if (b != '\r' && !line.append(b)) {
+                throw new IllegalArgumentException("Line " + (lineNumber + 1) + " is longer than " + MAX_LINE + " characters");
+            }
+        }
+    }
+
+    /**
+     * Makes sure at least {@code needed} bytes are buffered, reading from the channel as required.
+     * @return false if the file ends first
+     */
+    private boolean fill(int needed) throws IOException {
+        if (buffer.remaining() >= needed) return true;
+        if (endOfFile) return false;
+        buffer.compact();
+        try {
+            while (buffer.position() < needed) {
+                if (channel.read(buffer) < 0) {
+                    endOfFile = true;
+                    break;
+                }
+            }
+        } finally {
+            buffer.flip();
+        }
+        return buffer.remaining() >= needed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * A reusable, upper-cased ASCII line exposed as a CharSequence so the rules'
+     * coordinate parser can read it in place.
+     */
+    private static final class AsciiLine implements CharSequence {
+        private final byte[] chars;
+        private int length;
+
+        AsciiLine(int capacity) {
+            chars = new byte[capacity];
+        }
+
+        void clear() {
+            length = 0;
+        }
+
+        boolean append(byte b) {
+            if (length == chars.length) return false;
+            chars[length++] = b >= 'a' && b <= 'z' ? (byte) (b - 32) : b;
+            return true;
+        }
+
+        int indexOf(char c, int from) {
+            for (int i = from; i < length; i++) {
+                if (chars[i] == c) return i;
+            }
+            return -1;
+        }
+
+        int skipSpaces(int from) {
+            while (from < length && (chars[from] == ' ' || chars[from] == '\t')) from++;
+            return from;
+        }
+
+        /** @return {@code to} moved back over trailing spaces */
+        int trimEnd(int to) {
+            while (to > 0 && (chars[to - 1] == ' ' || chars[to - 1] == '\t')) to--;
+            return to;
+        }
+
+        /** @return The decimal number in {@code [from, to)}, or -1 if it is not one */
+        int parseNumber(int from, int to) {
+            if (from >= to || to - from > 4) return -1;
+            int value = 0;
+            for (int i = from; i < to; i++) {
+                int digit = chars[i] - '0';
+                if (digit < 0 || digit > 9) return -1;
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) chars[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(chars, start, end - start, StandardCharsets.US_ASCII);
+        }
+
+        @Override
+        public String toString() {
+            return subSequence(0, length).toString();
+        }
+    }
+}
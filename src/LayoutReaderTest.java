@@ -0,0 +1,70 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LayoutReaderTest {
+
+    @Test
+    public void testReadsTextAndBinaryCorpora() throws IOException {
+        Path text = Files.createTempFile("layouts", ".txt");
+        Path binary = Files.createTempFile("layouts", ".bin");
+        try {
+            Files.writeString(text, "# first\nA1,5,H\nC3,4,V\nE5,3,H\nG7,2,V\nI9,2,H\n\n"
+                    + "j1, 5, h\r\nA10,4,V\nB2,3,V\nE5,2,H\nH8,2,H");
+            List<String> fromText = readAll(text);
+            assertEquals(2, fromText.size(), "Should read both layouts");
+            assertEquals("A1,5,H\nC3,4,V\nE5,3,H\nG7,2,V\nI9,2,H\n", fromText.get(0));
+            assertEquals("J1,5,H\nA10,4,V\nB2,3,V\nE5,2,H\nH8,2,H\n", fromText.get(1));
+
+            Layout layout = new Layout();
+            try (LayoutReader in = LayoutReader.open(text); LayoutWriter out = new LayoutWriter(binary)) {
+                while (in.next(layout)) out.write(layout);
+            }
+            assertEquals(6 + 2 * 10, Files.size(binary), "Binary corpus should be header plus two bytes per ship");
+            assertEquals(fromText, readAll(binary), "Binary corpus should hold the same layouts");
+        } finally {
+            Files.deleteIfExists(text);
+            Files.deleteIfExists(binary);
+        }
+    }
+
+    @Test
+    public void testRejectsInvalidLayouts() throws IOException {
+        Path file = Files.createTempFile("layouts", ".txt");
+        try {
+            Files.writeString(file, "A1,5,H\nA3,4,V\n");
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> readAll(file));
+            assertTrue(e.getMessage().startsWith("Line 2"), "Error should name the line, got: " + e.getMessage());
+
+            Files.writeString(file, "A1,5,H\nC3,4,V\n");
+            assertThrows(IllegalArgumentException.class, () -> readAll(file), "Incomplete fleet should be rejected");
+
+            Files.writeString(file, "A1,5,X\n");
+            assertThrows(IllegalArgumentException.class, () -> readAll(file), "Bad orientation should be rejected");
+
+            Files.writeString(file, "A1,5,H\nC3,4,V\nE5,3,H\nG7,2,V\nI9,2,H\nJ1,2,H\n");
+            GameModel model = new GameModel();
+            assertThrows(IllegalArgumentException.class, () -> model.loadShipsFromFile(file.toString()),
+                    "A single-game file with extra ships should be rejected");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<String> readAll(Path path) throws IOException {
+        List<String> layouts = new ArrayList<>();
+        Layout layout = new Layout();
+        try (LayoutReader reader = LayoutReader.open(path)) {
+            while (reader.next(layout)) {
+                layouts.add(layout.toString());
+            }
+        }
+        return layouts;
+    }
+}
@@ -0,0 +1,99 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes layouts in the compact binary corpus format read by {@link LayoutReader}:
+ * a six-byte header, then two bytes per ship. Converting a text corpus once makes
+ * later runs skip text parsing altogether.
+ */
+public class LayoutWriter implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final GameRules rules;
+    private final int fleetSize;
+
+    /**
+     * Creates (or truncates) a binary corpus file of standard-board layouts.
+     */
+    public LayoutWriter(Path path) throws IOException {
+        this(path, GameRules.STANDARD);
+    }
+
+    /**
+     * Creates (or truncates) a binary corpus file.
+     * @throws IllegalArgumentException if the rules' cells, fleet or ship lengths do not fit the one-byte fields
+     */
+    public LayoutWriter(Path path, GameRules rules) throws IOException {
+        if (path == null) throw new IllegalArgumentException("Path cannot be null");
+        if (rules == null) throw new IllegalArgumentException("Rules cannot be null");
+        if (rules.getCellCount() > 256 || rules.getFleetSize() > 255 || rules.getMaxShipLength() > 127) {
+            throw new IllegalArgumentException("Binary corpora do not support " + rules + "; use the text format");
+        }
+        this.rules = rules;
+        this.fleetSize = rules.getFleetSize();
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.put(LayoutReader.MAGIC).put(LayoutReader.VERSION).put((byte) fleetSize);
+    }
+
+    /**
+     * Appends one layout.
+     * @throws IllegalArgumentException if it does not hold a full fleet
+     */
+    public void write(Layout layout) throws IOException {
+        if (layout == null) throw new IllegalArgumentException("Layout cannot be null");
+        if (!rules.equals(layout.getRules())) {
+            throw new IllegalArgumentException("Layout is for " + layout.getRules() + ", not " + rules);
+        }
+        if (layout.getShipCount() != fleetSize) {
+            throw new IllegalArgumentException("Layout has " + layout.getShipCount() + " ships, expected " + fleetSize);
+        }
+        if (buffer.remaining() < 2 * fleetSize) {
+            drain();
+        }
+        for (int i = 0; i < fleetSize; i++) {
+            buffer.put((byte) layout.getStartCell(i));
+            buffer.put((byte) (layout.getLength(i) << 1 | (layout.isHorizontal(i) ? 1 : 0)));
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Converts a corpus from the command line: {@code LayoutWriter <input> <output.bin>}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: LayoutWriter <input corpus> <output.bin>");
+            return;
+        }
+        Layout layout = new Layout();
+        try (LayoutReader in = LayoutReader.open(Path.of(args[0])); LayoutWriter out = new LayoutWriter(Path.of(args[1]))) {
+            while (in.next(layout)) {
+                out.write(layout);
+            }
+            System.out.println("Converted " + in.getLayoutsRead() + " layouts");
+        }
+    }
+}
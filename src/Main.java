@@ -1,3 +1,5 @@
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -10,10 +12,21 @@ public class Main {
         Logger.getLogger("").getHandlers()[0].setLevel(Level.FINE);
         
         GameModel model = new GameModel();
-        GameView view = new GUIGameView(); //when you want GUI interface
-//        GameView view = new CLIGameView(); //when you want CLI interface
-        GameController controller = new GameController(model, view);
-        controller.startGame();
+        model.setMetrics(GameMetrics.global());
+        GUIGameView view = new GUIGameView(model.getRules()); //when you want GUI interface
+        // A daemon worker, so the game never keeps the JVM alive on its own.
+        ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "ships-game");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AsyncGameController controller = new AsyncGameController(model, view, executor);
+        controller.getCompletion().whenComplete((finished, error) -> executor.shutdown());
+        view.setInputHandler(controller::submitInput);
+        controller.startGame("ships.txt");
+//        GameView view = new CLIGameView(model.getRules()); //when you want CLI interface
+//        GameController controller = new GameController(model, view);
+//        controller.startGame();
 
 
     }
@@ -0,0 +1,8 @@
+/**
+ * Receives periodic readings from {@link GameMetrics#startReporting}, e.g. to log
+ * them or push them to a monitoring system. Called from the reporting thread.
+ */
+@FunctionalInterface
+public interface MetricsSink {
+    void report(GameMetrics.Snapshot snapshot);
+}
@@ -0,0 +1,165 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only audit log of games, as fixed-width 12-byte records:
+ *
+ * <pre>
+ * long   game id
+ * byte   record type: RESET (new layout follows), SHIP (one ship of the layout), SHOT, RULES
+ * short  cell index
+ * byte   SHIP: (length &lt;&lt; 1) | horizontal; SHOT: GameModel.SHOT_* result; RESET: 0
+ * </pre>
+ *
+ * A game on a board other than {@link GameRules#STANDARD} has RULES records right
+ * before each RESET: the first holds rows - 1 and the second cols - 1 in the cell
+ * field, and each after that one ship length of the fleet in the last byte.
+ *
+ * Records are collected in a direct buffer and written to the file channel only
+ * when the buffer fills up or on {@link #flush()}, so recording a move is a few
+ * stores with no system call. One journal can serve many games on many threads.
+ * Read it back with {@link JournalReplayer}.
+ */
+public class MoveJournal implements Closeable {
+    public static final int RECORD_SIZE = 12;
+    public static final byte RESET = 0, SHIP = 1, SHOT = 2, RULES = 3;
+    private static final int DEFAULT_BUFFER_RECORDS = 8192;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private boolean closed;
+
+    /**
+     * Opens a journal for appending, creating the file if needed.
+     */
+    public MoveJournal(Path path) throws IOException {
+        this(path, DEFAULT_BUFFER_RECORDS);
+    }
+
+    /**
+     * @param bufferRecords Number of records collected before they are written out
+     */
+    public MoveJournal(Path path, int bufferRecords) throws IOException {
+        if (path == null) throw new IllegalArgumentException("Path cannot be null");
+        if (bufferRecords <= 0) throw new IllegalArgumentException("Buffer size must be positive: " + bufferRecords);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        buffer = ByteBuffer.allocateDirect(bufferRecords * RECORD_SIZE);
+    }
+
+    /**
+     * Starts recording a model's games under the given id. The current layout and any
+     * shots already taken are written immediately; after that every new layout and
+     * every guess is recorded as it happens.
+     * @return The listener added to the model, for {@link GameModel#removeListener} when done
+     * @throws IllegalArgumentException if the model's board has more than 65536 cells or a ship longer than 127
+     */
+    public GameModelListener attach(GameModel model, long gameId) {
+        if (model == null) throw new IllegalArgumentException("Model cannot be null");
+        GameRules rules = model.getRules();
+        if (rules.getCellCount() > 1 << 16 || rules.getMaxShipLength() > 127) {
+            throw new IllegalArgumentException("Journal records cannot hold the cells and ships of " + rules);
+        }
+        GameModelListener recorder = new GameModelListener() {
+            @Override
+            public void cellChanged(GameModel m, int cell, int oldState, int newState, int sunkShip) {
+                // Sinking also turns earlier hits to SUNK; only the guessed cell was a move.
+                if (oldState == GameModel.WATER || oldState == GameModel.SHIP) {
+                    append(gameId, SHOT, cell, resultOf(newState));
+                }
+            }
+
+            @Override
+            public void boardReset(GameModel m) {
+                recordBoard(m, gameId);
+            }
+        };
+        recordBoard(model, gameId);
+        model.addListener(recorder);
+        return recorder;
+    }
+
+    private synchronized void recordBoard(GameModel model, long gameId) {
+        GameRules rules = model.getRules();
+        if (!rules.equals(GameRules.STANDARD)) {
+            append(gameId, RULES, rules.getRows() - 1, 0);
+            append(gameId, RULES, rules.getCols() - 1, 0);
+            for (int ship = 0; ship < rules.getFleetSize(); ship++) {
+                append(gameId, RULES, ship, rules.getShipLength(ship));
+            }
+        }
+        append(gameId, RESET, 0, 0);
+        for (Ship ship : model.getShips()) {
+            append(gameId, SHIP, rules.cellOf(ship.getStartRow(), ship.getStartCol()),
+                    ship.getLength() << 1 | (ship.isHorizontal() ? 1 : 0));
+        }
+        // Shots restored without events (e.g. from a snapshot) still need to be on record.
+        for (int cell = 0; cell < rules.getCellCount(); cell++) {
+            int state = model.getCellState(cell);
+            if (state != GameModel.WATER && state != GameModel.SHIP) {
+                append(gameId, SHOT, cell, resultOf(state));
+            }
+        }
+    }
+
+    /**
+     * Adds one record to the buffer, writing the buffer out first if it is full.
+     */
+    synchronized void append(long gameId, byte type, int cell, int value) {
+        if (closed) throw new IllegalStateException("Journal is closed");
+        if (buffer.remaining() < RECORD_SIZE) {
+            try {
+                drain();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write move journal", e);
+            }
+        }
+        buffer.putLong(gameId).put(type).putShort((short) cell).put((byte) value);
+    }
+
+    /**
+     * Writes all buffered records to the file.
+     */
+    public synchronized void flush() throws IOException {
+        drain();
+    }
+
+    /**
+     * Writes all buffered records and forces them to the storage device.
+     */
+    public synchronized void sync() throws IOException {
+        drain();
+        channel.force(false);
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        try {
+            drain();
+        } finally {
+            closed = true;
+            channel.close();
+        }
+    }
+
+    private static int resultOf(int state) {
+        switch (state) {
+            case GameModel.HIT: return GameModel.SHOT_HIT;
+            case GameModel.SUNK: return GameModel.SHOT_SUNK;
+            default: return GameModel.SHOT_MISS;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveJournalTest {
+
+    @Test
+    public void testReplayRebuildsInterleavedGames() throws IOException {
+        Path file = Files.createTempFile("ships-journal", ".log");
+        try {
+            GameModel[] models = new GameModel[3];
+            try (MoveJournal journal = new MoveJournal(file, 4)) {
+                for (int g = 0; g < models.length; g++) {
+                    models[g] = new GameModel();
+                    models[g].initializeGame();
+                    journal.attach(models[g], 100 + g);
+                }
+                for (int cell = 0; cell < 100; cell++) {
+                    for (int g = 0; g < models.length; g++) {
+                        if (cell % (g + 2) == 0) models[g].processGuess(cell);
+                    }
+                }
+            }
+            assertEquals(0, Files.size(file) % MoveJournal.RECORD_SIZE, "Journal should hold whole records");
+
+            for (int g = 0; g < models.length; g++) {
+                GameModel replayed = JournalReplayer.replay(file, 100 + g);
+                assertNotNull(replayed, "Game " + g + " should be in the journal");
+                assertSameBoard(models[g], replayed);
+            }
+            assertNull(JournalReplayer.replay(file, 7), "Unknown id should not replay");
+
+            Map<Long, Integer> shots = new HashMap<>();
+            long games = JournalReplayer.replayAll(file, (id, model) -> shots.put(id, model.getShotsNumber()));
+            assertEquals(3, games);
+            for (int g = 0; g < models.length; g++) {
+                assertEquals(models[g].getShotsNumber(), shots.get(100L + g).intValue());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testRecordsLaterGamesAndRestoredShots() throws IOException {
+        Path file = Files.createTempFile("ships-journal", ".log");
+        try {
+            GameModel model = new GameModel();
+            model.initializeGame();
+            model.processGuess(42);
+            byte[] snapshot = GameSnapshot.toBytes(model);
+            try (MoveJournal journal = new MoveJournal(file)) {
+                journal.attach(model, 1);
+                model.initializeGame();
+                model.processGuess(7);
+                GameSnapshot.read(ByteBuffer.wrap(snapshot), model);
+                model.processGuess(8);
+            }
+            assertSameBoard(model, JournalReplayer.replay(file, 1));
+            assertEquals(3, JournalReplayer.replayAll(file, (id, m) -> { }), "Each layout should count as a game");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testReplayAllHandsOverGamesAsTheyEnd() throws IOException {
+        Path file = Files.createTempFile("ships-journal", ".log");
+        try {
+            try (MoveJournal journal = new MoveJournal(file)) {
+                for (int g = 0; g < 50; g++) {
+                    GameModel model = new GameModel();
+                    model.initializeGame();
+                    journal.attach(model, g);
+                    for (int cell = 0; !model.isGameOver(); cell++) {
+                        model.processGuess(cell);
+                    }
+                    model.processGuess(99); // after the end; not part of the game
+                }
+                for (int g = 50; g < 53; g++) {
+                    GameModel abandoned = new GameModel();
+                    abandoned.initializeGame();
+                    journal.attach(abandoned, g);
+                    abandoned.processGuess(0);
+                }
+            }
+            int[] finished = {0};
+            long games = JournalReplayer.replayAll(file, (id, model) -> {
+                if (model.isGameOver()) finished[0]++;
+            }, 2);
+            assertEquals(53, games, "Abandoned games past the limit should be handed over too");
+            assertEquals(50, finished[0], "Every played-out game should be handed over as it ended");
+            assertThrows(IllegalArgumentException.class, () -> JournalReplayer.replayAll(file, (id, model) -> { }, 0));
+
+            try (MoveJournal journal = new MoveJournal(file)) {
+                assertThrows(IllegalArgumentException.class,
+                        () -> journal.attach(new GameModel(new GameRules(300, 300, 5, 4, 3)), 1), "Cells past 65535");
+                assertThrows(IllegalArgumentException.class,
+                        () -> journal.attach(new GameModel(new GameRules(10, 200, 128)), 1), "Ships longer than 127");
+                journal.attach(new GameModel(new GameRules(256, 256, 127)), 1);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testReplaysGamesOnOtherBoards() throws IOException {
+        Path file = Files.createTempFile("ships-journal", ".log");
+        try {
+            GameModel wide = new GameModel(new GameRules(12, 14, 6, 4, 4, 1));
+            GameModel standard = new GameModel();
+            try (MoveJournal journal = new MoveJournal(file)) {
+                wide.initializeGame();
+                standard.initializeGame();
+                journal.attach(wide, 1);
+                journal.attach(standard, 2);
+                for (int cell = 0; cell < wide.getRules().getCellCount(); cell += 3) {
+                    wide.processGuess(cell);
+                    if (cell < 100) standard.processGuess(cell);
+                }
+            }
+            assertSameBoard(wide, JournalReplayer.replay(file, 1));
+            assertSameBoard(standard, JournalReplayer.replay(file, 2));
+
+            long games = JournalReplayer.replayAll(file, (id, model) -> assertSameBoard(id == 1 ? wide : standard, model));
+            assertEquals(2, games);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void assertSameBoard(GameModel expected, GameModel actual) {
+        assertEquals(expected.getRules(), actual.getRules());
+        assertEquals(expected.getShotsNumber(), actual.getShotsNumber());
+        for (int cell = 0; cell < expected.getRules().getCellCount(); cell++) {
+            assertEquals(expected.getCellState(cell), actual.getCellState(cell), "Cell " + cell);
+        }
+    }
+}
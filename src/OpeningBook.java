@@ -0,0 +1,134 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * Reads and writes opening books: position hashes and the shot to take there, to
+ * pre-warm a {@link TranspositionTable}. The file is text, one position per line
+ * as the hash in 16 hex digits and a coordinate, e.g.
+ * {@code 0000000000000000 E5}. Lines starting with {@code #} are comments, and a
+ * {@code # rules} comment records the board the book was made for.
+ */
+public final class OpeningBook {
+    private static final String RULES_PREFIX = "# rules ";
+
+    private OpeningBook() {
+    }
+
+    /**
+     * Adds every position in a book to a table.
+     * @return Number of positions read
+     * @throws IllegalArgumentException if the book is malformed or was made for other rules
+     */
+    public static int load(Path path, GameRules rules, TranspositionTable table) throws IOException {
+        if (path == null || rules == null || table == null) {
+            throw new IllegalArgumentException("Path, rules and table cannot be null");
+        }
+        int count = 0;
+        int lineNumber = 0;
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.startsWith(RULES_PREFIX)) {
+                    String bookRules = line.substring(RULES_PREFIX.length());
+                    if (!bookRules.equals(rules.toString())) {
+                        throw new IllegalArgumentException("Book is for " + bookRules + ", not " + rules);
+                    }
+                    continue;
+                }
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int space = line.indexOf(' ');
+                int cell = space == 16 ? rules.parseCell(line, 17, line.length()) : -1;
+                if (cell < 0) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": expected a 16-digit hash and a coordinate: " + line);
+                }
+                long hash;
+                try {
+                    hash = Long.parseUnsignedLong(line.substring(0, 16), 16);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": bad hash: " + line, e);
+                }
+                table.put(hash, cell);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes every position in a table as a book.
+     * @return Number of positions written
+     */
+    public static int write(Path path, GameRules rules, TranspositionTable table) throws IOException {
+        if (path == null || rules == null || table == null) {
+            throw new IllegalArgumentException("Path, rules and table cannot be null");
+        }
+        int[] count = {0};
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            out.write(RULES_PREFIX + rules + "\n");
+            StringBuilder line = new StringBuilder(32);
+            IOException[] failure = {null};
+            table.forEach((hash, shot) -> {
+                if (failure[0] != null) return;
+                line.setLength(0);
+                String hex = Long.toHexString(hash);
+                for (int i = hex.length(); i < 16; i++) line.append('0');
+                rules.appendCell(line.append(hex).append(' '), shot).append('\n');
+                try {
+                    out.append(line);
+                    count[0]++;
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) throw failure[0];
+        }
+        return count[0];
+    }
+
+    /**
+     * Plays random games with a strategy and records its choices in the first
+     * {@code plies} positions of each game.
+     * @param strategyFactory Deterministic strategy to learn from
+     * @return A table holding the openings seen
+     */
+    public static TranspositionTable build(GameRules rules, Supplier<? extends ShotStrategy> strategyFactory,
+                                           int games, int plies, int capacity, long seed) {
+        TranspositionTable table = new TranspositionTable(capacity);
+        GameModel model = new GameModel(rules, new SplittableRandom(seed));
+        model.setValidationMode(ValidationMode.OFF);
+        model.setMetrics(null);
+        ShotStrategy strategy = new CachingShotStrategy(rules, strategyFactory.get(), table, plies);
+        for (int game = 0; game < games; game++) {
+            model.initializeGame();
+            SimulationRunner.playGame(model, strategy);
+        }
+        return table;
+    }
+
+    /**
+     * Builds a book for the standard game with the probability solver:
+     * {@code OpeningBook <file> [games] [plies]}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: OpeningBook <file> [games] [plies]");
+            return;
+        }
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        int plies = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        GameRules rules = GameRules.STANDARD;
+        TranspositionTable table = build(rules, () -> new ProbabilityShotStrategy(rules), games, plies, 1 << 20, 1L);
+        int written = write(Path.of(args[0]), rules, table);
+        System.out.println("Wrote " + written + " positions to " + args[0]);
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Numbers every legal placement (start cell and orientation) of a ship of a given
+ * length on a board. Placements are worked out arithmetically rather than stored,
+ * so the table costs nothing however large the board is: for length {@code L},
+ * the first {@code rows * (cols - L + 1)} placements are horizontal, row by row,
+ * and the rest are vertical. A ship of length 1 only has its horizontal placements.
+ */
+final class PlacementTable {
+    private final int rows;
+    private final int cols;
+
+    PlacementTable(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    /**
+     * @return Number of legal placements of a ship of the given length
+     */
+    int count(int length) {
+        return horizontalCount(length) + verticalCount(length);
+    }
+
+    private int horizontalCount(int length) {
+        return length <= cols ? rows * (cols - length + 1) : 0;
+    }
+
+    private int verticalCount(int length) {
+        return length > 1 && length <= rows ? (rows - length + 1) * cols : 0;
+    }
+
+    int startCell(int length, int placement) {
+        int perRow = cols - length + 1;
+        int horizontal = horizontalCount(length);
+        if (placement < horizontal) {
+            return placement / perRow * cols + placement % perRow;
+        }
+        return placement - horizontal;
+    }
+
+    boolean isHorizontal(int length, int placement) {
+        return placement < horizontalCount(length);
+    }
+
+    /**
+     * @return true if none of the placement's cells is set in {@code occupied}
+     */
+    boolean isFree(int length, int placement, BitBoard occupied) {
+        int stride = isHorizontal(length, placement) ? 1 : cols;
+        for (int i = 0, cell = startCell(length, placement); i < length; i++, cell += stride) {
+            if (occupied.get(cell)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Collects the placements of a ship of the given length that do not touch any occupied cell.
+     * @param length Ship length
+     * @param occupied Cells already taken
+     * @param out Receives placement indices; must hold at least {@link #count(int)} entries
+     * @return Number of placements written to {@code out}
+     */
+    int compatible(int length, BitBoard occupied, int[] out) {
+        int count = count(length);
+        int found = 0;
+        for (int p = 0; p < count; p++) {
+            if (isFree(length, p, occupied)) {
+                out[found++] = p;
+            }
+        }
+        return found;
+    }
+}
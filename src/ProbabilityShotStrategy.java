@@ -0,0 +1,266 @@
+import java.util.Arrays;
+
+/**
+ * Picks the cell most likely to hold a ship, counting for every cell how many
+ * placements of the ships still afloat could cover it.
+ *
+ * <p>The density map is updated incrementally: a miss or a sunk cell only
+ * invalidates the placements that run through it, and sinking a ship only
+ * removes that ship's length from the count. While there are hits on ships not
+ * yet sunk, shots are chosen among the placements through those hits instead
+ * (target mode). Ties go to the lowest cell index, so play is deterministic.</p>
+ */
+public class ProbabilityShotStrategy implements ShotStrategy {
+    private static final int UNKNOWN = 0, MISS = 1, HIT = 2, SUNK = 3;
+
+    private final int rows;
+    private final int cols;
+    private final int cellCount;
+    private final int[] fleet;
+    private final int maxLength;
+
+    // Per ship length: cells of every placement (placement p covers cells[p * length .. p * length + length - 1]),
+    // and for each cell the placements running through it.
+    private final int[][] placementCells;
+    private final int[][][] placementsThrough;
+
+    // Per-game state.
+    private final int[][] blockers;
+    private final int[] remaining;
+    private final int[] density;
+    private final byte[] visible;
+    private final int[] openHits;
+    private int openHitCount;
+    private final int[] targetScore;
+
+    public ProbabilityShotStrategy() {
+        this(GameRules.STANDARD);
+    }
+
+    /**
+     * @param size Width and height of the board
+     * @param fleet Lengths of the ships in play
+     */
+    public ProbabilityShotStrategy(int size, int[] fleet) {
+        this(new GameRules(size, size, fleet));
+    }
+
+    /**
+     * @param rules Board dimensions and fleet of the games to be played
+     */
+    public ProbabilityShotStrategy(GameRules rules) {
+        if (rules == null) throw new IllegalArgumentException("Rules cannot be null");
+        this.rows = rules.getRows();
+        this.cols = rules.getCols();
+        this.cellCount = rules.getCellCount();
+        this.fleet = rules.getFleet();
+        this.maxLength = rules.getMaxShipLength();
+        this.placementCells = new int[maxLength + 1][];
+        this.placementsThrough = new int[maxLength + 1][][];
+        this.blockers = new int[maxLength + 1][];
+        this.remaining = new int[maxLength + 1];
+        for (int length : fleet) {
+            if (placementCells[length] == null) {
+                buildPlacements(length);
+                blockers[length] = new int[placementCells[length].length / length];
+            }
+        }
+        this.density = new int[cellCount];
+        this.visible = new byte[cellCount];
+        this.openHits = new int[cellCount];
+        this.targetScore = new int[cellCount];
+        newGame();
+    }
+
+    private void buildPlacements(int length) {
+        int horizontalCount = length <= cols ? rows * (cols - length + 1) : 0;
+        int verticalCount = length > 1 && length <= rows ? (rows - length + 1) * cols : 0;
+        int count = horizontalCount + verticalCount;
+        int[] cells = new int[count * length];
+        int[] throughCount = new int[cellCount];
+        for (int p = 0; p < count; p++) {
+            boolean horizontal = p < horizontalCount;
+            int start = horizontal ? p / (cols - length + 1) * cols + p % (cols - length + 1) : p - horizontalCount;
+            int stride = horizontal ? 1 : cols;
+            for (int i = 0; i < length; i++) {
+                int cell = start + i * stride;
+                cells[p * length + i] = cell;
+                throughCount[cell]++;
+            }
+        }
+        int[][] through = new int[cellCount][];
+        for (int cell = 0; cell < cellCount; cell++) {
+            through[cell] = new int[throughCount[cell]];
+            throughCount[cell] = 0;
+        }
+        for (int q = 0; q < count; q++) {
+            for (int i = 0; i < length; i++) {
+                int cell = cells[q * length + i];
+                through[cell][throughCount[cell]++] = q;
+            }
+        }
+        placementCells[length] = cells;
+        placementsThrough[length] = through;
+    }
+
+    @Override
+    public void newGame() {
+        Arrays.fill(remaining, 0);
+        for (int length : fleet) {
+            remaining[length]++;
+        }
+        Arrays.fill(density, 0);
+        Arrays.fill(visible, (byte) UNKNOWN);
+        openHitCount = 0;
+        for (int length = 1; length <= maxLength; length++) {
+            if (placementCells[length] == null) continue;
+            Arrays.fill(blockers[length], 0);
+            if (remaining[length] == 0) continue;
+            int[] cells = placementCells[length];
+            for (int i = 0; i < cells.length; i++) {
+                density[cells[i]] += remaining[length];
+            }
+        }
+    }
+
+    @Override
+    public int nextShot() {
+        if (openHitCount > 0) {
+            int target = bestTargetShot();
+            if (target >= 0) {
+                return target;
+            }
+        }
+        int best = -1;
+        int bestDensity = -1;
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (visible[cell] == UNKNOWN && density[cell] > bestDensity) {
+                best = cell;
+                bestDensity = density[cell];
+            }
+        }
+        if (best < 0) {
+            throw new IllegalStateException("Every cell has already been fired at");
+        }
+        return best;
+    }
+
+    /**
+     * Scores unknown cells by the live placements that run through the open hits.
+     * @return Best cell, or -1 if no live placement covers an open hit
+     */
+    private int bestTargetShot() {
+        int best = -1;
+        int bestScore = 0;
+        for (int h = 0; h < openHitCount; h++) {
+            int hit = openHits[h];
+            for (int length = 1; length <= maxLength; length++) {
+                if (remaining[length] == 0) continue;
+                int[] cells = placementCells[length];
+                int[] live = blockers[length];
+                for (int p : placementsThrough[length][hit]) {
+                    if (live[p] != 0) continue;
+                    for (int i = p * length, end = i + length; i < end; i++) {
+                        int cell = cells[i];
+                        if (visible[cell] == UNKNOWN) {
+                            targetScore[cell] += remaining[length];
+                        }
+                    }
+                }
+            }
+        }
+        // Collect the winner and clear the scratch scores in the same pass.
+        for (int h = 0; h < openHitCount; h++) {
+            int hit = openHits[h];
+            for (int length = 1; length <= maxLength; length++) {
+                if (placementsThrough[length] == null) continue;
+                int[] cells = placementCells[length];
+                for (int p : placementsThrough[length][hit]) {
+                    for (int i = p * length, end = i + length; i < end; i++) {
+                        int cell = cells[i];
+                        int score = targetScore[cell];
+                        if (score > bestScore || (score == bestScore && score > 0 && cell < best)) {
+                            best = cell;
+                            bestScore = score;
+                        }
+                        targetScore[cell] = 0;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public void shotResult(int cell, int result, Ship sunkShip) {
+        if (result == GameModel.SHOT_MISS) {
+            visible[cell] = MISS;
+            block(cell);
+        } else if (result == GameModel.SHOT_HIT) {
+            visible[cell] = HIT;
+            openHits[openHitCount++] = cell;
+        } else if (result == GameModel.SHOT_SUNK) {
+            if (sunkShip == null) throw new IllegalArgumentException("Sunk result needs the sunk ship");
+            visible[cell] = HIT;
+            openHits[openHitCount++] = cell;
+            sink(sunkShip);
+        }
+    }
+
+    private void sink(Ship ship) {
+        int length = ship.getLength();
+        int stride = ship.isHorizontal() ? 1 : cols;
+        int start = ship.getStartRow() * cols + ship.getStartCol();
+        for (int i = 0, cell = start; i < length; i++, cell += stride) {
+            visible[cell] = SUNK;
+            block(cell);
+            removeOpenHit(cell);
+        }
+        if (length <= maxLength && remaining[length] > 0) {
+            remaining[length]--;
+            int[] cells = placementCells[length];
+            int[] live = blockers[length];
+            for (int p = 0; p < live.length; p++) {
+                if (live[p] != 0) continue;
+                for (int i = p * length, end = i + length; i < end; i++) {
+                    density[cells[i]]--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks a cell as unable to hold an unsunk ship and retires every placement through it.
+     */
+    private void block(int cell) {
+        for (int length = 1; length <= maxLength; length++) {
+            if (placementsThrough[length] == null) continue;
+            int weight = remaining[length];
+            int[] cells = placementCells[length];
+            int[] live = blockers[length];
+            for (int p : placementsThrough[length][cell]) {
+                if (live[p]++ != 0 || weight == 0) continue;
+                for (int i = p * length, end = i + length; i < end; i++) {
+                    density[cells[i]] -= weight;
+                }
+            }
+        }
+    }
+
+    private void removeOpenHit(int cell) {
+        for (int h = 0; h < openHitCount; h++) {
+            if (openHits[h] == cell) {
+                openHits[h] = openHits[--openHitCount];
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param cell Cell index
+     * @return Weighted number of live placements covering the cell
+     */
+    int getDensity(int cell) {
+        return density[cell];
+    }
+}
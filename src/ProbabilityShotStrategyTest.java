@@ -0,0 +1,73 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProbabilityShotStrategyTest {
+
+    @Test
+    public void testIncrementalDensityMatchesRecount() {
+        GameModel model = new GameModel();
+        model.initializeGame();
+        ProbabilityShotStrategy strategy = new ProbabilityShotStrategy();
+        strategy.newGame();
+        for (int shot = 0; shot < 40 && !model.isGameOver(); shot++) {
+            int cell = strategy.nextShot();
+            int result = model.fire(cell);
+            assertTrue(result <= GameModel.SHOT_SUNK, "Strategy should never repeat a shot");
+            strategy.shotResult(cell, result, result == GameModel.SHOT_SUNK ? model.getShipAt(cell) : null);
+        }
+
+        List<Integer> afloat = new ArrayList<>();
+        for (Ship ship : model.getShips()) {
+            if (!model.isSunk(ship)) afloat.add(ship.getLength());
+        }
+        for (int cell = 0; cell < 100; cell++) {
+            assertEquals(recount(model, afloat, cell), strategy.getDensity(cell), "Density at cell " + cell);
+        }
+    }
+
+    @Test
+    public void testSingleCellShipsCountOncePerCell() {
+        ProbabilityShotStrategy strategy = new ProbabilityShotStrategy(new GameRules(4, 4, 2, 1));
+        strategy.newGame();
+        assertEquals(3, strategy.getDensity(0), "Corner: two placements of the 2, one of the 1");
+        assertEquals(5, strategy.getDensity(5), "Inside: four placements of the 2, one of the 1");
+    }
+
+    @Test
+    public void testBeatsRandomShooting() {
+        SimulationResult smart = new SimulationRunner(ProbabilityShotStrategy::new, 2).run(300);
+        SimulationResult random = new SimulationRunner(RandomShotStrategy::new, 2).run(300);
+
+        assertEquals(300, smart.getGames());
+        assertTrue(smart.getMeanShots() < 60, "Solver should average well under 60 shots, got " + smart.getMeanShots());
+        assertTrue(smart.getMeanShots() < random.getMeanShots() - 20, "Solver should clearly beat random shooting");
+    }
+
+    private static int recount(GameModel model, List<Integer> afloat, int cell) {
+        int total = 0;
+        for (int length : afloat) {
+            for (int row = 0; row < 10; row++) {
+                for (int col = 0; col < 10; col++) {
+                    if (col + length <= 10 && isLive(model, row * 10 + col, length, 1, cell)) total++;
+                    if (row + length <= 10 && isLive(model, row * 10 + col, length, 10, cell)) total++;
+                }
+            }
+        }
+        return total;
+    }
+
+    private static boolean isLive(GameModel model, int start, int length, int stride, int cell) {
+        boolean covers = false;
+        for (int i = 0; i < length; i++) {
+            int c = start + i * stride;
+            int state = model.getVisibleState(c);
+            if (state == GameModel.MISS || state == GameModel.SUNK) return false;
+            covers |= c == cell;
+        }
+        return covers;
+    }
+}
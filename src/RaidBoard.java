@@ -0,0 +1,162 @@
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+
+/**
+ * A board that many players fire at concurrently, for the cooperative "raid" mode.
+ * Nothing here takes a lock: each cell is claimed by a single compare-and-set, so
+ * exactly one shot at it wins and every other gets SHOT_REPEAT; hit and miss
+ * counts are striped LongAdders; and each ship has an atomic count of cells still
+ * afloat, so exactly one shot sinks it. Shots at different cells never wait on
+ * each other, which lets throughput grow with the number of firing threads.
+ *
+ * <p>The layout is fixed for the life of the board. Result codes and cell states
+ * are the ones used by {@link GameModel}.</p>
+ */
+public final class RaidBoard {
+    // Cell value: ship index + 1 (0 for open water), plus SHOT once claimed.
+    private static final int SHOT = 1 << 30;
+
+    private final GameRules rules;
+    private final int cols;
+    private final AtomicIntegerArray cells;
+    private final Ship[] ships;
+    private final AtomicIntegerArray shipRemaining;
+    private final AtomicInteger shipsAfloat = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param layout Ships to raid; the board plays by the layout's rules
+     */
+    public RaidBoard(Layout layout) {
+        if (layout == null) throw new IllegalArgumentException("Layout cannot be null");
+        this.rules = layout.getRules();
+        this.cols = rules.getCols();
+        this.cells = new AtomicIntegerArray(rules.getCellCount());
+        this.ships = new Ship[layout.getShipCount()];
+        this.shipRemaining = new AtomicIntegerArray(ships.length);
+        for (int i = 0; i < ships.length; i++) {
+            int start = layout.getStartCell(i);
+            ships[i] = new Ship(start / cols, start % cols, layout.getLength(i), layout.isHorizontal(i));
+        }
+        reset();
+    }
+
+    /**
+     * Creates a board with a random layout.
+     */
+    public static RaidBoard random(GameRules rules, RandomGenerator random) {
+        GameModel model = new GameModel(rules, random);
+        model.setMetrics(null);
+        model.initializeGame();
+        return new RaidBoard(Layout.of(model));
+    }
+
+    /**
+     * Puts every ship back afloat and clears all shots. Not thread-safe: only call
+     * it while nobody is firing.
+     */
+    void reset() {
+        for (int cell = 0; cell < cells.length(); cell++) {
+            cells.set(cell, 0);
+        }
+        for (int i = 0; i < ships.length; i++) {
+            Ship ship = ships[i];
+            int stride = ship.isHorizontal() ? 1 : cols;
+            for (int j = 0, cell = ship.getStartRow() * cols + ship.getStartCol(); j < ship.getLength(); j++, cell += stride) {
+                cells.set(cell, i + 1);
+            }
+            shipRemaining.set(i, ship.getLength());
+        }
+        shipsAfloat.set(ships.length);
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * Fires at a cell. Safe to call from any number of threads at once.
+     * @param cell Cell index ({@code row * cols + col})
+     * @return SHOT_MISS, SHOT_HIT, SHOT_SUNK, SHOT_INVALID (out of range) or SHOT_REPEAT (already claimed)
+     */
+    public int fire(int cell) {
+        if (!rules.isCell(cell)) {
+            return GameModel.SHOT_INVALID;
+        }
+        int value = cells.get(cell);
+        // The only change a cell ever sees is gaining SHOT, so a lost race is a repeat.
+        if ((value & SHOT) != 0 || !cells.compareAndSet(cell, value, value | SHOT)) {
+            return GameModel.SHOT_REPEAT;
+        }
+        int shipIndex = value - 1;
+        if (shipIndex < 0) {
+            misses.increment();
+            return GameModel.SHOT_MISS;
+        }
+        hits.increment();
+        if (shipRemaining.decrementAndGet(shipIndex) == 0) {
+            shipsAfloat.decrementAndGet();
+            return GameModel.SHOT_SUNK;
+        }
+        return GameModel.SHOT_HIT;
+    }
+
+    /**
+     * @return One of WATER, SHIP, HIT, MISS or SUNK
+     */
+    public int getCellState(int cell) {
+        int value = cells.get(cell);
+        int shipIndex = (value & ~SHOT) - 1;
+        if ((value & SHOT) == 0) {
+            return shipIndex >= 0 ? GameModel.SHIP : GameModel.WATER;
+        }
+        if (shipIndex < 0) {
+            return GameModel.MISS;
+        }
+        return shipRemaining.get(shipIndex) == 0 ? GameModel.SUNK : GameModel.HIT;
+    }
+
+    /**
+     * Gets the state of a cell as a player sees it: unclaimed ship cells read as WATER.
+     */
+    public int getVisibleState(int cell) {
+        int state = getCellState(cell);
+        return state == GameModel.SHIP ? GameModel.WATER : state;
+    }
+
+    /**
+     * @return The ship covering a cell, or null for open water
+     */
+    Ship getShipAt(int cell) {
+        int shipIndex = (cells.get(cell) & ~SHOT) - 1;
+        return shipIndex >= 0 ? ships[shipIndex] : null;
+    }
+
+    public GameRules getRules() {
+        return rules;
+    }
+
+    public boolean isGameOver() {
+        return shipsAfloat.get() == 0;
+    }
+
+    public int getShipsAfloat() {
+        return shipsAfloat.get();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return Shots claimed so far; exact once firing has stopped
+     */
+    public long getShotsNumber() {
+        return hits.sum() + misses.sum();
+    }
+}
@@ -0,0 +1,99 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RaidBoardTest {
+
+    @Test
+    public void testShotsMatchGameModel() {
+        GameModel model = new GameModel(new SplittableRandom(7));
+        model.setMetrics(null);
+        model.initializeGame();
+        RaidBoard board = new RaidBoard(Layout.of(model));
+
+        for (int cell = 0; cell < 100; cell++) {
+            assertEquals(model.getCellState(cell), board.getCellState(cell), "Layouts should match at " + cell);
+        }
+        for (int cell = 99; cell >= 0; cell--) {
+            assertEquals(model.fire(cell), board.fire(cell), "Shot at " + cell + " should have the same result");
+            assertEquals(model.getCellState(cell), board.getCellState(cell));
+        }
+        assertEquals(GameModel.SHOT_REPEAT, board.fire(0));
+        assertEquals(GameModel.SHOT_INVALID, board.fire(100));
+        assertTrue(board.isGameOver());
+        assertEquals(16, board.getHits());
+        assertEquals(84, board.getMisses());
+    }
+
+    @Test
+    public void testEveryCellIsClaimedOnceUnderContention() throws InterruptedException {
+        int[] fleet = new int[200];
+        for (int i = 0; i < fleet.length; i++) {
+            fleet[i] = 2 + i % 4;
+        }
+        GameRules rules = new GameRules(100, 100, fleet);
+        RaidBoard board = RaidBoard.random(rules, new SplittableRandom(11));
+        int cells = rules.getCellCount();
+        int players = 8;
+
+        // Every player fires at every cell in its own order, so each cell is fought over.
+        AtomicIntegerArray claims = new AtomicIntegerArray(cells);
+        int[][] tallies = new int[players][GameModel.SHOT_REPEAT + 1];
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < players; p++) {
+            int[] tally = tallies[p];
+            SplittableRandom random = new SplittableRandom(p);
+            Thread thread = new Thread(() -> {
+                int[] order = new int[cells];
+                for (int i = 0; i < cells; i++) {
+                    int j = random.nextInt(i + 1);
+                    order[i] = order[j];
+                    order[j] = i;
+                }
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int cell : order) {
+                    int result = board.fire(cell);
+                    tally[result]++;
+                    if (result != GameModel.SHOT_REPEAT) claims.incrementAndGet(cell);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        int[] total = new int[GameModel.SHOT_REPEAT + 1];
+        for (int[] tally : tallies) {
+            for (int i = 0; i < total.length; i++) total[i] += tally[i];
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            assertEquals(1, claims.get(cell), "Cell " + cell + " should be claimed by exactly one shot");
+        }
+        assertEquals(rules.getTotalShipSquares(), total[GameModel.SHOT_HIT] + total[GameModel.SHOT_SUNK]);
+        assertEquals(rules.getFleetSize(), total[GameModel.SHOT_SUNK], "Each ship should be sunk exactly once");
+        assertEquals(cells - rules.getTotalShipSquares(), total[GameModel.SHOT_MISS]);
+        assertEquals((long) cells * (players - 1), total[GameModel.SHOT_REPEAT]);
+        assertEquals(rules.getTotalShipSquares(), board.getHits());
+        assertEquals(cells, board.getShotsNumber());
+        assertTrue(board.isGameOver());
+
+        board.reset();
+        assertEquals(0, board.getShotsNumber());
+        assertEquals(rules.getFleetSize(), board.getShipsAfloat());
+    }
+}
@@ -0,0 +1,57 @@
+import java.util.SplittableRandom;
+
+/**
+ * Fires at every cell once, in a random order. Mainly a baseline to compare
+ * smarter strategies against.
+ */
+public class RandomShotStrategy implements ShotStrategy {
+    private final SplittableRandom random;
+    private final int[] order;
+    private int next;
+
+    public RandomShotStrategy() {
+        this(new SplittableRandom());
+    }
+
+    public RandomShotStrategy(SplittableRandom random) {
+        this(GameRules.STANDARD, random);
+    }
+
+    /**
+     * @param rules Board the games are played on
+     * @param random Source of the firing order
+     */
+    public RandomShotStrategy(GameRules rules, SplittableRandom random) {
+        if (rules == null) throw new IllegalArgumentException("Rules cannot be null");
+        if (random == null) throw new IllegalArgumentException("Random cannot be null");
+        this.random = random;
+        this.order = new int[rules.getCellCount()];
+        for (int cell = 0; cell < order.length; cell++) {
+            order[cell] = cell;
+        }
+    }
+
+    @Override
+    public void newGame() {
+        next = 0;
+    }
+
+    /**
+     * Shuffles lazily (one Fisher-Yates step per shot), so a short game only pays for the shots it takes.
+     */
+    @Override
+    public int nextShot() {
+        if (next >= order.length) {
+            throw new IllegalStateException("Every cell has already been fired at");
+        }
+        int pick = next + random.nextInt(order.length - next);
+        int cell = order[pick];
+        order[pick] = order[next];
+        order[next++] = cell;
+        return cell;
+    }
+
+    @Override
+    public void shotResult(int cell, int result, Ship sunkShip) {
+    }
+}
@@ -3,33 +3,35 @@ class Ship {
     private int startCol;
     private int length;
     private boolean isHorizontal;
-    private int hits;
 
     public Ship(int startRow, int startCol, int length, boolean isHorizontal) {
         this.startRow = startRow;
         this.startCol = startCol;
         this.length = length;
         this.isHorizontal = isHorizontal;
-        this.hits = 0;
     }
 
-    boolean isHit(int row, int col){
-        if (isHorizontal) {
-            if (row == startRow && col >= startCol && col < startCol + length) {
-                hits++;
-                return true;
-            }
-        } else {
-            if (col == startCol && row >= startRow && row < startRow + length) {
-                hits++;
-                return true;
-            }
-        }
-        return false;
+    /**
+     * Moves this ship to a new position, so GameModel can reuse Ship objects between games.
+     * @return this ship
+     */
+    Ship place(int startRow, int startCol, int length, boolean isHorizontal) {
+        this.startRow = startRow;
+        this.startCol = startCol;
+        this.length = length;
+        this.isHorizontal = isHorizontal;
+        return this;
     }
 
-    boolean isSunk(){
-        return hits >= length;
+    /**
+     * Checks whether the ship covers a coordinate. Has no side effects;
+     * hits and sinking are tracked by GameModel.
+     */
+    boolean occupies(int row, int col){
+        if (isHorizontal) {
+            return row == startRow && col >= startCol && col < startCol + length;
+        }
+        return col == startCol && row >= startRow && row < startRow + length;
     }
 
     public int getLength() {
@@ -0,0 +1,27 @@
+/**
+ * A computer player that picks shots from what it has seen so far.
+ * Implementations keep their own view of the board and are fed the result of
+ * every shot; they never look at the hidden ship layout. One instance plays one
+ * game at a time and is not thread-safe.
+ */
+public interface ShotStrategy {
+
+    /**
+     * Forgets everything about the previous game.
+     */
+    void newGame();
+
+    /**
+     * Picks the next cell to fire at.
+     * @return Cell index ({@code row * rules.getCols() + col}) of a cell not fired at yet
+     */
+    int nextShot();
+
+    /**
+     * Reports the outcome of a shot returned by {@link #nextShot()}.
+     * @param cell The cell fired at
+     * @param result One of GameModel.SHOT_MISS, SHOT_HIT or SHOT_SUNK
+     * @param sunkShip The ship sunk by this shot (its cells are now revealed), or null if none was sunk
+     */
+    void shotResult(int cell, int result, Ship sunkShip);
+}
@@ -0,0 +1,85 @@
+/**
+ * Aggregate outcome of a batch of simulated games: how many shots each game took.
+ */
+public class SimulationResult {
+    private final long[] shotHistogram;
+    private final long games;
+    private final long elapsedNanos;
+
+    /**
+     * @param shotHistogram Number of games finished in exactly {@code i} shots, at index {@code i}
+     * @param elapsedNanos Wall-clock time the batch took
+     */
+    SimulationResult(long[] shotHistogram, long elapsedNanos) {
+        this.shotHistogram = shotHistogram.clone();
+        long total = 0;
+        for (long count : shotHistogram) {
+            total += count;
+        }
+        this.games = total;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @param shots Shot count
+     * @return Number of games that finished in exactly that many shots
+     */
+    public long getGamesWithShots(int shots) {
+        return shots >= 0 && shots < shotHistogram.length ? shotHistogram[shots] : 0;
+    }
+
+    public int getMinShots() {
+        for (int shots = 0; shots < shotHistogram.length; shots++) {
+            if (shotHistogram[shots] > 0) return shots;
+        }
+        return 0;
+    }
+
+    public int getMaxShots() {
+        for (int shots = shotHistogram.length - 1; shots >= 0; shots--) {
+            if (shotHistogram[shots] > 0) return shots;
+        }
+        return 0;
+    }
+
+    public double getMeanShots() {
+        if (games == 0) return 0;
+        double sum = 0;
+        for (int shots = 0; shots < shotHistogram.length; shots++) {
+            sum += (double) shots * shotHistogram[shots];
+        }
+        return sum / games;
+    }
+
+    /**
+     * @param percentile Value between 0 and 100
+     * @return Smallest shot count such that at least that percentage of games finished within it
+     */
+    public int getPercentileShots(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        long threshold = (long) Math.ceil(games * percentile / 100.0);
+        long seen = 0;
+        for (int shots = 0; shots < shotHistogram.length; shots++) {
+            seen += shotHistogram[shots];
+            if (seen >= threshold && seen > 0) return shots;
+        }
+        return getMaxShots();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d games in %.1f ms: mean %.2f shots, min %d, p50 %d, p90 %d, p99 %d, max %d",
+                games, elapsedNanos / 1e6, getMeanShots(), getMinShots(), getPercentileShots(50),
+                getPercentileShots(90), getPercentileShots(99), getMaxShots());
+    }
+}
@@ -0,0 +1,199 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Plays many headless games with a computer strategy, spread over a fixed pool of
+ * worker threads. Each worker owns one GameModel and one strategy and reuses them
+ * for all of its games; no views or observers are attached.
+ */
+public class SimulationRunner {
+    private final GameRules rules;
+    private final Supplier<? extends ShotStrategy> strategyFactory;
+    private final int threads;
+
+    /**
+     * @param strategyFactory Creates one strategy per worker thread
+     * @param threads Number of worker threads
+     */
+    public SimulationRunner(Supplier<? extends ShotStrategy> strategyFactory, int threads) {
+        this(GameRules.STANDARD, strategyFactory, threads);
+    }
+
+    /**
+     * @param rules Board and fleet of every game; strategies must be built for the same rules
+     * @param strategyFactory Creates one strategy per worker thread
+     * @param threads Number of worker threads
+     */
+    public SimulationRunner(GameRules rules, Supplier<? extends ShotStrategy> strategyFactory, int threads) {
+        if (rules == null) throw new IllegalArgumentException("Rules cannot be null");
+        if (strategyFactory == null) throw new IllegalArgumentException("Strategy factory cannot be null");
+        if (threads <= 0) throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        this.rules = rules;
+        this.strategyFactory = strategyFactory;
+        this.threads = threads;
+    }
+
+    /**
+     * Uses one worker per available processor.
+     */
+    public SimulationRunner(Supplier<? extends ShotStrategy> strategyFactory) {
+        this(strategyFactory, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Plays {@code games} games with randomly placed ships.
+     * @param games Number of games to play
+     * @return Shot-count distribution over all games
+     */
+    public SimulationResult run(int games) {
+        if (games < 0) throw new IllegalArgumentException("Game count cannot be negative: " + games);
+        int workers = Math.max(1, Math.min(threads, games));
+        return runWorkers(workers, w -> playGames(games / workers + (w < games % workers ? 1 : 0)));
+    }
+
+    /**
+     * Plays one game on every layout of a corpus. Workers pull layouts from the
+     * shared reader as they go, so the corpus is never held in memory.
+     * @param corpus Open reader; it is read to the end but not closed
+     * @return Shot-count distribution over all layouts
+     */
+    public SimulationResult run(LayoutReader corpus) {
+        return run(corpus, null);
+    }
+
+    /**
+     * Plays the layouts of a corpus, playing each distinct layout only once. Shot
+     * counts are cached under the layout's exact {@link Layout#key()}, so the result is
+     * the same as playing every layout for any deterministic strategy. Rotations and
+     * mirror images are played separately: strategies that break ties by position,
+     * such as {@link ProbabilityShotStrategy}, take different numbers of shots on them.
+     * @param corpus Open reader; it is read to the end but not closed
+     * @param cache Results shared between workers, and between runs if reused; null plays every layout
+     * @return Shot-count distribution over all layouts, cached ones included
+     */
+    public SimulationResult run(LayoutReader corpus, LayoutCache<Integer> cache) {
+        if (corpus == null) throw new IllegalArgumentException("Corpus cannot be null");
+        if (!rules.equals(corpus.getRules())) {
+            throw new IllegalArgumentException("Corpus is for " + corpus.getRules() + ", not " + rules);
+        }
+        return runWorkers(threads, w -> playLayouts(corpus, cache));
+    }
+
+    private SimulationResult runWorkers(int workers, IntFunction<long[]> work) {
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<long[]>> parts = new ArrayList<>(workers);
+            for (int w = 0; w < workers; w++) {
+                int worker = w;
+                parts.add(pool.submit(() -> work.apply(worker)));
+            }
+            long[] histogram = new long[rules.getCellCount() + 1];
+            for (Future<long[]> part : parts) {
+                long[] counts = part.get();
+                for (int shots = 0; shots < histogram.length; shots++) {
+                    histogram[shots] += counts[shots];
+                }
+            }
+            return new SimulationResult(histogram, System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private long[] playGames(int games) {
+        long[] histogram = new long[rules.getCellCount() + 1];
+        GameModel model = new GameModel(rules);
+        model.setValidationMode(ValidationMode.OFF);
+        ShotStrategy strategy = strategyFactory.get();
+        for (int game = 0; game < games; game++) {
+            model.initializeGame();
+            histogram[playGame(model, strategy)]++;
+        }
+        return histogram;
+    }
+
+    private long[] playLayouts(LayoutReader corpus, LayoutCache<Integer> cache) {
+        long[] histogram = new long[rules.getCellCount() + 1];
+        GameModel model = new GameModel(rules);
+        model.setValidationMode(ValidationMode.OFF);
+        ShotStrategy strategy = strategyFactory.get();
+        Layout layout = new Layout(rules);
+        while (true) {
+            try {
+                synchronized (corpus) {
+                    if (!corpus.next(layout)) break;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read layout corpus", e);
+            }
+            if (cache == null) {
+                layout.applyTo(model);
+                histogram[playGame(model, strategy)]++;
+                continue;
+            }
+            histogram[cache.computeIfAbsent(layout.key(), key -> {
+                layout.applyTo(model);
+                return playGame(model, strategy);
+            })]++;
+        }
+        return histogram;
+    }
+
+    /**
+     * Plays one game to the end on an already set-up model.
+     * @return Number of shots taken
+     */
+    static int playGame(GameModel model, ShotStrategy strategy) {
+        strategy.newGame();
+        int wasted = 0;
+        while (!model.isGameOver()) {
+            int cell = strategy.nextShot();
+            int result = model.fire(cell);
+            if (result == GameModel.SHOT_INVALID || result == GameModel.SHOT_REPEAT) {
+                if (++wasted > model.getRules().getCellCount()) {
+                    throw new IllegalStateException("Strategy keeps firing at invalid or repeated cells, last " + cell);
+                }
+                continue;
+            }
+            strategy.shotResult(cell, result, result == GameModel.SHOT_SUNK ? model.getShipAt(cell) : null);
+        }
+        return model.getShotsNumber();
+    }
+
+    /**
+     * Runs a batch from the command line: {@code SimulationRunner [games] [threads] [random|probability|cached]}.
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        String strategy = args.length > 2 ? args[2] : "probability";
+        Supplier<ShotStrategy> factory;
+        if (strategy.equalsIgnoreCase("random")) {
+            factory = RandomShotStrategy::new;
+        } else if (strategy.equalsIgnoreCase("probability")) {
+            factory = ProbabilityShotStrategy::new;
+        } else if (strategy.equalsIgnoreCase("cached")) {
+            // Probability solver with its openings shared between workers.
+            TranspositionTable table = new TranspositionTable(1 << 20);
+            factory = () -> new CachingShotStrategy(GameRules.STANDARD, new ProbabilityShotStrategy(), table, 8);
+        } else {
+            throw new IllegalArgumentException("Unknown strategy: " + strategy);
+        }
+        SimulationResult result = new SimulationRunner(factory, threads).run(games);
+        System.out.println(result);
+    }
+}
@@ -0,0 +1,76 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulationRunnerTest {
+
+    @Test
+    public void testRunPlaysEveryGameToTheEnd() {
+        SimulationResult result = new SimulationRunner(RandomShotStrategy::new, 4).run(500);
+
+        assertEquals(500, result.getGames(), "Every requested game should be counted");
+        assertTrue(result.getMinShots() >= 16, "No game can finish before every ship square is hit");
+        assertTrue(result.getMaxShots() <= 100, "No game can take more shots than there are cells");
+        assertTrue(result.getPercentileShots(50) <= result.getPercentileShots(90));
+        assertEquals(0, result.getGamesWithShots(15));
+    }
+
+    @Test
+    public void testRunOverLayoutCorpus() throws IOException {
+        Path corpus = Files.createTempFile("layouts", ".txt");
+        try {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < 50; i++) {
+                text.append("A1,5,H\nC3,4,V\nE5,3,H\nG7,2,V\nI9,2,H\n\n");
+            }
+            Files.writeString(corpus, text);
+            SimulationResult result;
+            try (LayoutReader reader = LayoutReader.open(corpus)) {
+                result = new SimulationRunner(ProbabilityShotStrategy::new, 3).run(reader);
+            }
+            assertEquals(50, result.getGames(), "Every layout in the corpus should be played");
+            assertEquals(result.getMinShots(), result.getMaxShots(), "A deterministic solver should need the same shots on identical layouts");
+        } finally {
+            Files.deleteIfExists(corpus);
+        }
+    }
+
+    @Test
+    public void testCachePlaysEachLayoutOnce() throws IOException {
+        Layout layout = new Layout();
+        layout.addShip(0, 5, true);
+        layout.addShip(22, 4, false);
+        layout.addShip(44, 3, true);
+        layout.addShip(66, 2, false);
+        layout.addShip(88, 2, true);
+        Path corpus = Files.createTempFile("layouts", ".txt");
+        try {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < 40; i++) {
+                text.append(layout.transformed(i % 8)).append('\n');
+            }
+            Files.writeString(corpus, text);
+            LayoutCache<Integer> cache = new LayoutCache<>(16);
+            SimulationResult cached, uncached;
+            try (LayoutReader reader = LayoutReader.open(corpus)) {
+                cached = new SimulationRunner(ProbabilityShotStrategy::new, 2).run(reader, cache);
+            }
+            try (LayoutReader reader = LayoutReader.open(corpus)) {
+                uncached = new SimulationRunner(ProbabilityShotStrategy::new, 2).run(reader, null);
+            }
+            assertEquals(40, cached.getGames(), "Cached layouts should still be counted");
+            assertEquals(8, cache.size(), "Each orientation is a layout of its own");
+            assertEquals(40, cache.getHits() + cache.getMisses());
+            assertTrue(cache.getMisses() <= 16, "At most one miss per worker and orientation");
+            assertEquals(uncached.getMeanShots(), cached.getMeanShots(), 1e-9, "Caching should not change the results");
+            assertEquals(uncached.getMinShots(), cached.getMinShots());
+            assertEquals(uncached.getMaxShots(), cached.getMaxShots());
+        } finally {
+            Files.deleteIfExists(corpus);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Logger;
+
+/**
+ * A GameView for a remote player on a line-based socket protocol.
+ *
+ * <p>Server to client:</p>
+ * <ul>
+ *   <li>{@code GRID <rows*cols chars>} - whole board, row by row: {@code ~} unknown, {@code X} hit, {@code O} miss, {@code S} sunk</li>
+ *   <li>{@code CELL <coordinate> <char>} - one cell changed, same characters as GRID</li>
+ *   <li>{@code MSG <text>} - message for the player</li>
+ *   <li>{@code ERR <text>} - the last line sent was rejected</li>
+ *   <li>{@code READY} - waiting for a guess</li>
+ * </ul>
+ * <p>Client to server: a coordinate such as {@code B7}, or {@code quit}.</p>
+ */
+public class SocketGameView implements GameView, GameModelListener {
+    private static final Logger LOGGER = Logger.getLogger(SocketGameView.class.getName());
+    private static final char[] CELL_CHARS = {'~', '~', 'X', 'O', 'S'};
+
+    private final GameRules rules;
+    private final BufferedReader in;
+    private final Writer out;
+    private final StringBuilder line = new StringBuilder(128);
+    private final Histogram renderTimes = GameMetrics.global().renderTimes("socket");
+
+    public SocketGameView(Socket socket) throws IOException {
+        this(socket, GameRules.STANDARD);
+    }
+
+    /**
+     * @param rules Board played over this socket; GRID lines carry rows times columns characters
+     */
+    public SocketGameView(Socket socket, GameRules rules) throws IOException {
+        if (socket == null) throw new IllegalArgumentException("Socket cannot be null");
+        if (rules == null) throw new IllegalArgumentException("Rules cannot be null");
+        this.rules = rules;
+        in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void displayGrid(int[][] grid) {
+        if (grid == null || grid.length != rules.getRows() || grid[0].length != rules.getCols()) {
+            throw new IllegalArgumentException("Grid must be " + rules.getRows() + "x" + rules.getCols());
+        }
+        long start = System.nanoTime();
+        line.setLength(0);
+        line.append("GRID ");
+        for (int[] row : grid) {
+            for (int state : row) {
+                line.append(CELL_CHARS[state]);
+            }
+        }
+        send(true);
+        renderTimes.record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void showMessage(String msg) {
+        line.setLength(0);
+        line.append("MSG ").append(msg == null ? "" : msg);
+        send(true);
+    }
+
+    /**
+     * Prompts the client and waits for a valid coordinate or "quit".
+     * @return The guess, "quit", or null if the client disconnected
+     */
+    @Override
+    public String getInput() {
+        while (true) {
+            line.setLength(0);
+            line.append("READY");
+            send(true);
+            String input;
+            try {
+                input = in.readLine();
+            } catch (IOException e) {
+                LOGGER.fine("Client read failed: " + e.getMessage());
+                return null;
+            }
+            if (input == null) {
+                return null;
+            }
+            input = input.trim().toUpperCase();
+            if (input.equals("QUIT") || rules.parseCell(input) >= 0) {
+                return input;
+            }
+            line.setLength(0);
+            line.append("ERR invalid input");
+            send(false);
+        }
+    }
+
+    @Override
+    public void cellChanged(GameModel model, int cell, int oldState, int newState, int sunkShip) {
+        long start = System.nanoTime();
+        line.setLength(0);
+        line.append("CELL ");
+        rules.appendCell(line, cell).append(' ').append(CELL_CHARS[newState]);
+        // Flushed with the next message or prompt, so a sinking shot goes out as one packet.
+        send(false);
+        renderTimes.record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void boardReset(GameModel model) {
+        displayGrid(model.getGrid());
+    }
+
+    private void send(boolean flush) {
+        try {
+            line.append('\n');
+            out.append(line);
+            if (flush) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            // The session notices the disconnect on its next read.
+            LOGGER.fine("Client write failed: " + e.getMessage());
+        }
+    }
+}
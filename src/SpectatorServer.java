@@ -0,0 +1,428 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Streams published games to any number of spectators over TCP, from one
+ * selector thread.
+ *
+ * <p>A spectator connects and sends the 4-byte big-endian id returned by
+ * {@link #publish(GameModel)}. It then receives binary frames:</p>
+ * <ul>
+ *   <li>{@code BOARD}: byte 1, int rows, int cols, then one state byte per cell</li>
+ *   <li>{@code CELL}: byte 2, int cell, one state byte</li>
+ * </ul>
+ * <p>States are the model's, except that unhit ships read as WATER. The first
+ * frame is always a BOARD.</p>
+ *
+ * <p>Players never wait on spectators. A model event only updates the game's
+ * shared board and change log and wakes the selector. Each spectator has a
+ * bounded output buffer. When one falls behind (its buffer is full, it missed
+ * more changes than the log keeps, or the deltas would outweigh the board), it is
+ * sent the latest BOARD in place of the missed CELL frames. Spectators that hang
+ * up, fail a write, or make no progress on a full buffer for the stall timeout are
+ * dropped.</p>
+ */
+public class SpectatorServer implements Closeable {
+    private static final Logger LOGGER = Logger.getLogger(SpectatorServer.class.getName());
+    static final byte FRAME_BOARD = 1, FRAME_CELL = 2;
+    private static final int CELL_FRAME_SIZE = 6;
+    private static final int BOARD_HEADER_SIZE = 9;
+    // Changes each game remembers for spectators that are a little behind.
+    private static final int LOG_SIZE = 1024;
+    private static final int MIN_BUFFER = 8192;
+    private static final long SELECT_TIMEOUT_MS = 100;
+    private static final long DEFAULT_STALL_TIMEOUT_MS = 10_000;
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final long stallTimeoutNanos;
+    private final Map<Integer, Feed> feeds = new ConcurrentHashMap<>();
+    private final Queue<Feed> changedFeeds = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger nextGameId = new AtomicInteger();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread loop;
+    private volatile boolean closed;
+
+    /**
+     * Binds to the given port on the loopback interface.
+     * @param port Port to listen on, or 0 for any free port
+     */
+    public SpectatorServer(int port) throws IOException {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    public SpectatorServer(InetSocketAddress address) throws IOException {
+        this(address, DEFAULT_STALL_TIMEOUT_MS);
+    }
+
+    SpectatorServer(InetSocketAddress address, long stallTimeoutMillis) throws IOException {
+        if (stallTimeoutMillis <= 0) throw new IllegalArgumentException("Stall timeout must be positive: " + stallTimeoutMillis);
+        this.stallTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(stallTimeoutMillis);
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address, 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        loop = new Thread(this::selectLoop, "ships-spectators");
+        loop.setDaemon(true);
+    }
+
+    /**
+     * Starts serving spectators in the background.
+     */
+    public void start() {
+        loop.start();
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * @return Spectators currently subscribed to a game
+     */
+    public int getSubscriberCount() {
+        return subscribers.get();
+    }
+
+    /**
+     * @return Spectators disconnected because they hung up, failed or stalled
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Makes a game watchable. Call it while nobody is firing at the model, e.g. before
+     * the game starts.
+     * @return Id spectators send to subscribe to this game
+     */
+    public int publish(GameModel model) {
+        if (model == null) throw new IllegalArgumentException("Model cannot be null");
+        Feed feed = new Feed(nextGameId.incrementAndGet(), model);
+        feeds.put(feed.id, feed);
+        model.addListener(feed);
+        return feed.id;
+    }
+
+    /**
+     * Stops streaming a game and disconnects its spectators once they have been
+     * sent everything that happened before this call.
+     * @param gameId Id returned by {@link #publish}
+     */
+    public void unpublish(int gameId) {
+        Feed feed = feeds.remove(gameId);
+        if (feed != null) {
+            feed.model.removeListener(feed);
+            feed.removed = true;
+            feed.signal();
+        }
+    }
+
+    private void selectLoop() {
+        long lastStallCheck = System.nanoTime();
+        while (!closed) {
+            try {
+                selector.select(SELECT_TIMEOUT_MS);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Spectator select failed", e);
+                return;
+            }
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                if (!key.isValid()) {
+                    continue;
+                }
+                if (key.isAcceptable()) {
+                    accept();
+                    continue;
+                }
+                Spectator spectator = (Spectator) key.attachment();
+                if (key.isReadable()) {
+                    read(spectator);
+                }
+                if (key.isValid() && key.isWritable()) {
+                    flush(spectator);
+                }
+            }
+            Feed feed;
+            while ((feed = changedFeeds.poll()) != null) {
+                feed.pending.set(false);
+                for (Spectator spectator : feed.spectators.toArray(new Spectator[0])) {
+                    flush(spectator);
+                }
+            }
+            long now = System.nanoTime();
+            if (now - lastStallCheck >= TimeUnit.MILLISECONDS.toNanos(SELECT_TIMEOUT_MS)) {
+                lastStallCheck = now;
+                dropStalled(now);
+            }
+        }
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel = serverChannel.accept();
+            if (channel == null) {
+                return;
+            }
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            Spectator spectator = new Spectator(channel);
+            spectator.key = channel.register(selector, SelectionKey.OP_READ, spectator);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Spectator accept failed", e);
+        }
+    }
+
+    /**
+     * Reads the subscription request, then only watches for the spectator hanging up.
+     */
+    private void read(Spectator spectator) {
+        int count;
+        try {
+            count = spectator.channel.read(spectator.in);
+        } catch (IOException e) {
+            count = -1;
+        }
+        if (count < 0) {
+            drop(spectator, true);
+            return;
+        }
+        if (spectator.feed == null && !spectator.in.hasRemaining()) {
+            Feed feed = feeds.get(spectator.in.getInt(0));
+            if (feed == null || feed.removed) {
+                LOGGER.fine("Spectator asked for unknown game " + spectator.in.getInt(0));
+                drop(spectator, false);
+                return;
+            }
+            spectator.subscribe(feed);
+            feed.spectators.add(spectator);
+            subscribers.incrementAndGet();
+            flush(spectator);
+        }
+        if (spectator.feed != null) {
+            spectator.in.clear();
+        }
+    }
+
+    /**
+     * Tops up a spectator's buffer from its game and writes what the socket takes.
+     */
+    private void flush(Spectator spectator) {
+        Feed feed = spectator.feed;
+        if (feed == null) {
+            return;
+        }
+        ByteBuffer out = spectator.out;
+        feed.copyTo(spectator);
+        try {
+            out.flip();
+            int written = spectator.channel.write(out);
+            out.compact();
+            if (written > 0 || out.position() == 0) {
+                spectator.lastProgress = System.nanoTime();
+            }
+        } catch (IOException e) {
+            LOGGER.fine("Spectator write failed: " + e.getMessage());
+            drop(spectator, true);
+            return;
+        }
+        boolean backlog = out.position() > 0 || spectator.sentSeq != feed.seq;
+        if (feed.removed && !backlog) {
+            // The game's last frames are out; now the spectator can go.
+            drop(spectator, false);
+            return;
+        }
+        spectator.key.interestOps(backlog ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+
+    private void dropStalled(long now) {
+        for (SelectionKey key : selector.keys()) {
+            Object attachment = key.attachment();
+            if (attachment instanceof Spectator) {
+                Spectator spectator = (Spectator) attachment;
+                if (spectator.out != null && spectator.out.position() > 0 && now - spectator.lastProgress > stallTimeoutNanos) {
+                    LOGGER.fine("Dropping stalled spectator of game " + spectator.feed.id);
+                    drop(spectator, true);
+                }
+            }
+        }
+    }
+
+    private void drop(Spectator spectator, boolean failed) {
+        spectator.key.cancel();
+        try {
+            spectator.channel.close();
+        } catch (IOException e) {
+            LOGGER.fine("Closing spectator failed: " + e.getMessage());
+        }
+        if (spectator.feed != null && spectator.feed.spectators.remove(spectator)) {
+            subscribers.decrementAndGet();
+        }
+        if (failed) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Stops the server and disconnects every spectator.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        for (Integer gameId : feeds.keySet()) {
+            unpublish(gameId);
+        }
+        selector.wakeup();
+        try {
+            loop.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    /**
+     * One published game: the latest visible board plus a log of recently changed
+     * cells, updated on the players' thread and read on the selector thread.
+     */
+    private final class Feed implements GameModelListener {
+        final int id;
+        final GameModel model;
+        final int rows, cols;
+        final List<Spectator> spectators = new ArrayList<>(); // selector thread only
+        final AtomicBoolean pending = new AtomicBoolean();
+        volatile boolean removed;
+        // Guarded by this.
+        private final byte[] board;
+        private final int[] changeLog = new int[LOG_SIZE];
+        private long seq;
+        private long resetSeq;
+
+        Feed(int id, GameModel model) {
+            this.id = id;
+            this.model = model;
+            this.rows = model.getRules().getRows();
+            this.cols = model.getRules().getCols();
+            this.board = new byte[model.getRules().getCellCount()];
+            copyBoard(model);
+        }
+
+        int boardFrameSize() {
+            return BOARD_HEADER_SIZE + board.length;
+        }
+
+        @Override
+        public void cellChanged(GameModel m, int cell, int oldState, int newState, int sunkShip) {
+            synchronized (this) {
+                board[cell] = visible(newState);
+                changeLog[(int) (seq % LOG_SIZE)] = cell;
+                seq++;
+            }
+            signal();
+        }
+
+        @Override
+        public void boardReset(GameModel m) {
+            copyBoard(m);
+            signal();
+        }
+
+        private synchronized void copyBoard(GameModel m) {
+            for (int cell = 0; cell < board.length; cell++) {
+                board[cell] = visible(m.getCellState(cell));
+            }
+            seq++;
+            resetSeq = seq;
+        }
+
+        /**
+         * Wakes the selector for this game, once per batch of changes.
+         */
+        void signal() {
+            if (pending.compareAndSet(false, true)) {
+                changedFeeds.add(this);
+                selector.wakeup();
+            }
+        }
+
+        /**
+         * Appends what a spectator has not seen yet, as CELL frames if it is close
+         * behind and there is room, otherwise as one BOARD frame once there is room.
+         */
+        synchronized void copyTo(Spectator spectator) {
+            long missed = seq - spectator.sentSeq;
+            if (missed == 0) {
+                return;
+            }
+            ByteBuffer out = spectator.out;
+            boolean deltas = spectator.sentSeq >= resetSeq && missed <= LOG_SIZE
+                    && missed * CELL_FRAME_SIZE < boardFrameSize();
+            if (deltas && missed * CELL_FRAME_SIZE <= out.remaining()) {
+                for (long s = spectator.sentSeq; s < seq; s++) {
+                    int cell = changeLog[(int) (s % LOG_SIZE)];
+                    out.put(FRAME_CELL).putInt(cell).put(board[cell]);
+                }
+                spectator.sentSeq = seq;
+            } else if (boardFrameSize() <= out.remaining()) {
+                out.put(FRAME_BOARD).putInt(rows).putInt(cols).put(board);
+                spectator.sentSeq = seq;
+            }
+            // Otherwise wait until the socket drains; by then a BOARD will cover everything.
+        }
+    }
+
+    private static byte visible(int state) {
+        return (byte) (state == GameModel.SHIP ? GameModel.WATER : state);
+    }
+
+    /**
+     * A connected spectator. Only touched on the selector thread.
+     */
+    private static final class Spectator {
+        final SocketChannel channel;
+        final ByteBuffer in = ByteBuffer.allocate(4);
+        ByteBuffer out;
+        SelectionKey key;
+        Feed feed;
+        long sentSeq = -1;
+        long lastProgress = System.nanoTime();
+
+        Spectator(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        void subscribe(Feed feed) {
+            this.feed = feed;
+            // Room for at least two boards, so a stalled spectator can always catch up in one frame.
+            out = ByteBuffer.allocate(Math.max(MIN_BUFFER, 2 * feed.boardFrameSize()));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpectatorServerTest {
+    private SpectatorServer server;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new SpectatorServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 200);
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void testSpectatorFollowsWholeGame() throws Exception {
+        GameModel model = new GameModel(new SplittableRandom(5));
+        int gameId = server.publish(model);
+        try (Watcher watcher = new Watcher(gameId, 0)) {
+            watcher.readFrame();
+            assertEquals(SpectatorServer.FRAME_BOARD, watcher.lastFrame, "First frame should be the whole board");
+            model.initializeGame();
+            for (int cell = 0; cell < 100; cell++) {
+                model.processGuess(cell);
+            }
+            watcher.readUntil(visibleBoard(model));
+        }
+    }
+
+    @Test
+    public void testUnpublishSendsFinalShotsFirst() throws Exception {
+        GameModel model = new GameModel(new SplittableRandom(6));
+        model.initializeGame();
+        int gameId = server.publish(model);
+        try (Watcher watcher = new Watcher(gameId, 0)) {
+            watcher.readFrame();
+            for (int cell = 0; !model.isGameOver(); cell++) {
+                model.processGuess(cell);
+            }
+            server.unpublish(gameId);
+            try {
+                while (true) watcher.readFrame();
+            } catch (EOFException e) {
+                // The server hung up after the last frame.
+            }
+            assertTrue(watcher.matches(visibleBoard(model)), "The game-over shot should reach the spectator");
+            assertEquals(0, server.getDroppedCount());
+        }
+    }
+
+    @Test
+    public void testSlowSpectatorIsDroppedWithoutStallingPlay() throws Exception {
+        GameModel model = new GameModel(new GameRules(300, 300, 5, 4, 3, 2, 2), new SplittableRandom(9));
+        int gameId = server.publish(model);
+        SplittableRandom random = new SplittableRandom(1);
+        try (Watcher slow = new Watcher(gameId, 4096); Watcher fast = new Watcher(gameId, 0)) {
+            Thread reader = new Thread(() -> {
+                try {
+                    while (true) fast.readFrame();
+                } catch (IOException e) {
+                    // Closed at the end of the test.
+                }
+            });
+            reader.start();
+            long deadline = System.nanoTime() + 20_000_000_000L;
+            // The slow spectator never reads, so its buffers fill with boards and it stalls.
+            while (server.getDroppedCount() == 0 && System.nanoTime() < deadline) {
+                model.initializeGame();
+                for (int i = 0; i < 1000; i++) {
+                    model.processGuess(random.nextInt(model.getRules().getCellCount()));
+                }
+            }
+            assertEquals(1, server.getDroppedCount(), "The stalled spectator should be dropped");
+            assertEquals(1, server.getSubscriberCount());
+            fast.socket.setSoTimeout(10_000);
+            byte[] expected = visibleBoard(model);
+            long waitUntil = System.nanoTime() + 10_000_000_000L;
+            while (!fast.matches(expected) && System.nanoTime() < waitUntil) {
+                Thread.sleep(10);
+            }
+            assertTrue(fast.matches(expected), "A reading spectator should catch up with the final board");
+        }
+    }
+
+    @Test
+    public void testUnknownGameIsRefused() throws Exception {
+        try (Watcher watcher = new Watcher(12345, 0)) {
+            assertThrows(IOException.class, watcher::readFrame);
+        }
+    }
+
+    private static byte[] visibleBoard(GameModel model) {
+        byte[] board = new byte[model.getRules().getCellCount()];
+        for (int cell = 0; cell < board.length; cell++) {
+            int state = model.getCellState(cell);
+            board[cell] = (byte) (state == GameModel.SHIP ? GameModel.WATER : state);
+        }
+        return board;
+    }
+
+    /**
+     * A spectator that keeps its own copy of the board from the frames it reads.
+     */
+    private class Watcher implements AutoCloseable {
+        final Socket socket = new Socket();
+        final DataInputStream in;
+        byte[] board = new byte[0];
+        byte lastFrame;
+
+        Watcher(int gameId, int receiveBuffer) throws IOException {
+            if (receiveBuffer > 0) socket.setReceiveBufferSize(receiveBuffer);
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+            socket.setSoTimeout(5000);
+            in = new DataInputStream(socket.getInputStream());
+            new DataOutputStream(socket.getOutputStream()).writeInt(gameId);
+        }
+
+        void readFrame() throws IOException {
+            byte type = in.readByte();
+            synchronized (this) {
+                if (type == SpectatorServer.FRAME_BOARD) {
+                    int rows = in.readInt();
+                    int cols = in.readInt();
+                    byte[] next = new byte[rows * cols];
+                    in.readFully(next);
+                    board = next;
+                } else if (type == SpectatorServer.FRAME_CELL) {
+                    int cell = in.readInt();
+                    board[cell] = in.readByte();
+                } else {
+                    throw new IOException("Unknown frame type " + type);
+                }
+                lastFrame = type;
+            }
+        }
+
+        void readUntil(byte[] expected) throws IOException {
+            while (!matches(expected)) {
+                readFrame();
+            }
+        }
+
+        synchronized boolean matches(byte[] expected) {
+            return Arrays.equals(board, expected);
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
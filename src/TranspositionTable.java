@@ -0,0 +1,175 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size map from position hashes ({@link GameModel#getStateHash()}) to the
+ * shot a strategy chose there, so a position seen before costs one lookup instead
+ * of a fresh search. Entries live in plain arrays, in sets of four slots picked by
+ * the hash. When a set is full, a clock hand sweeps it, giving recently used
+ * entries a second chance, and evicts the first entry not used since its last
+ * pass. Lookups and inserts allocate nothing.
+ *
+ * <p>A table only makes sense for one {@link GameRules} and one deterministic
+ * strategy. It is safe for use from many threads: each set is guarded by one of a
+ * fixed pool of locks, so threads rarely wait on each other.</p>
+ */
+public final class TranspositionTable {
+    private static final int WAYS = 4;
+    private static final int LOCKS = 64;
+    private static final int EMPTY = -1;
+
+    private final long[] hashes;
+    private final int[] shots;
+    private final boolean[] referenced;
+    private final byte[] hands;
+    private final int setMask;
+    private final Object[] locks = new Object[LOCKS];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param capacity Maximum number of positions kept; rounded up to a power of two, at least 4
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        int slots = Math.max(WAYS, Integer.highestOneBit(capacity - 1) << 1);
+        hashes = new long[slots];
+        shots = new int[slots];
+        referenced = new boolean[slots];
+        hands = new byte[slots / WAYS];
+        setMask = slots / WAYS - 1;
+        Arrays.fill(shots, EMPTY);
+        for (int i = 0; i < LOCKS; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    private int setOf(long hash) {
+        // Fold the high bits in; the low bits of a Zobrist hash are fine on their own.
+        return (int) (hash ^ hash >>> 32) & setMask;
+    }
+
+    /**
+     * @return The stored shot for a position, or -1 if there is none
+     */
+    public int get(long hash) {
+        int set = setOf(hash);
+        int base = set * WAYS;
+        synchronized (locks[set & (LOCKS - 1)]) {
+            for (int slot = base; slot < base + WAYS; slot++) {
+                if (shots[slot] != EMPTY && hashes[slot] == hash) {
+                    referenced[slot] = true;
+                    hits.increment();
+                    return shots[slot];
+                }
+            }
+        }
+        misses.increment();
+        return EMPTY;
+    }
+
+    /**
+     * Stores the shot for a position, replacing any earlier entry for it and
+     * evicting another position from the same set if the set is full.
+     * @param shot Cell index, not negative
+     */
+    public void put(long hash, int shot) {
+        if (shot < 0) throw new IllegalArgumentException("Shot cannot be negative: " + shot);
+        int set = setOf(hash);
+        int base = set * WAYS;
+        synchronized (locks[set & (LOCKS - 1)]) {
+            int free = -1;
+            for (int slot = base; slot < base + WAYS; slot++) {
+                if (shots[slot] == EMPTY) {
+                    if (free < 0) free = slot;
+                } else if (hashes[slot] == hash) {
+                    shots[slot] = shot;
+                    referenced[slot] = true;
+                    return;
+                }
+            }
+            if (free < 0) {
+                free = evict(set, base);
+            }
+            hashes[free] = hash;
+            shots[free] = shot;
+            referenced[free] = false;
+        }
+    }
+
+    /**
+     * Advances the set's clock hand past referenced slots, clearing their bits, and
+     * returns the first unreferenced one. Caller holds the set's lock.
+     */
+    private int evict(int set, int base) {
+        int hand = hands[set];
+        while (referenced[base + hand]) {
+            referenced[base + hand] = false;
+            hand = (hand + 1) % WAYS;
+        }
+        hands[set] = (byte) ((hand + 1) % WAYS);
+        evictions.increment();
+        return base + hand;
+    }
+
+    /**
+     * Hands every stored position to {@code action}, e.g. to write an opening book.
+     * Entries added or evicted meanwhile may or may not be seen.
+     */
+    public void forEach(EntryConsumer action) {
+        long[] setHashes = new long[WAYS];
+        int[] setShots = new int[WAYS];
+        for (int set = 0; set <= setMask; set++) {
+            int base = set * WAYS;
+            synchronized (locks[set & (LOCKS - 1)]) {
+                System.arraycopy(hashes, base, setHashes, 0, WAYS);
+                System.arraycopy(shots, base, setShots, 0, WAYS);
+            }
+            for (int i = 0; i < WAYS; i++) {
+                if (setShots[i] != EMPTY) action.accept(setHashes[i], setShots[i]);
+            }
+        }
+    }
+
+    /**
+     * @return Number of slots, the most positions the table can hold
+     */
+    public int getCapacity() {
+        return shots.length;
+    }
+
+    public int size() {
+        int count = 0;
+        for (int set = 0; set <= setMask; set++) {
+            synchronized (locks[set & (LOCKS - 1)]) {
+                for (int slot = set * WAYS; slot < (set + 1) * WAYS; slot++) {
+                    if (shots[slot] != EMPTY) count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Receives table entries from {@link #forEach}.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long hash, int shot);
+    }
+}
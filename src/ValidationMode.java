@@ -0,0 +1,29 @@
+/**
+ * How much invariant checking GameModel does after each change.
+ * The default is taken from the {@code ships.validation} system property
+ * ({@code off}, {@code incremental} or {@code full}); without it, INCREMENTAL
+ * is used when assertions are enabled and OFF otherwise. FULL is only ever used
+ * when asked for.
+ */
+public enum ValidationMode {
+    /** No checks at all. */
+    OFF,
+    /** Checks only the cell and counters touched by the last move. */
+    INCREMENTAL,
+    /** Rescans the whole board and fleet after every change. */
+    FULL;
+
+    static ValidationMode fromSystemProperty() {
+        String value = System.getProperty("ships.validation");
+        if (value == null || value.trim().isEmpty()) {
+            boolean assertionsEnabled = false;
+            assert assertionsEnabled = true;
+            return assertionsEnabled ? INCREMENTAL : OFF;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid ships.validation value: " + value, e);
+        }
+    }
+}
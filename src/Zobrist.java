@@ -0,0 +1,53 @@
+/**
+ * Zobrist keys for what a player has been told about a board: the state of each
+ * fired-at cell and where each sunk ship lay. A position's hash is the XOR of the
+ * keys of everything revealed so far, so it is updated with one XOR per change and
+ * does not depend on the order shots were fired in. The empty board hashes to 0.
+ *
+ * <p>Keys are computed with a 64-bit mixing function instead of looked up in a
+ * random table, so they cost no memory on any board size and are the same in
+ * every run, which lets hashes be stored in an opening book.</p>
+ */
+final class Zobrist {
+    private static final long CELL_SEED = 0x5DEECE66DL, SHIP_SEED = 0x2545F4914F6CDD1DL;
+
+    private Zobrist() {
+    }
+
+    /**
+     * @param state HIT, MISS or SUNK
+     * @return Key for a cell showing that state
+     */
+    static long cell(int cell, int state) {
+        return mix(((long) cell << 3 | state) + CELL_SEED);
+    }
+
+    /**
+     * @return Key for the news that a ship has been sunk
+     */
+    static long sunkShip(Ship ship, int cols) {
+        long start = (long) ship.getStartRow() * cols + ship.getStartCol();
+        return mix((start << 32 | (long) ship.getLength() << 1 | (ship.isHorizontal() ? 1 : 0)) ^ SHIP_SEED);
+    }
+
+    /**
+     * @return Change in the hash when a ship's cells go from HIT to SUNK, except the cell that sank it
+     */
+    static long sinking(Ship ship, int cols, int sinkingCell) {
+        long hash = sunkShip(ship, cols);
+        int stride = ship.isHorizontal() ? 1 : cols;
+        int cell = ship.getStartRow() * cols + ship.getStartCol();
+        for (int i = 0; i < ship.getLength(); i++, cell += stride) {
+            if (cell != sinkingCell) {
+                hash ^= cell(cell, GameModel.HIT) ^ cell(cell, GameModel.SUNK);
+            }
+        }
+        return hash;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}